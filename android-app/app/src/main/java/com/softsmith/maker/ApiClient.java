@@ -1,48 +1,269 @@
 package com.softsmith.maker;
 
+import android.content.Context;
+import android.util.Log;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+
+import okhttp3.Cache;
+import okhttp3.Call;
+import okhttp3.Dispatcher;
+import okhttp3.HttpUrl;
 import okhttp3.OkHttpClient;
-import okhttp3.logging.HttpLoggingInterceptor;
+import okhttp3.Request;
+import retrofit2.Invocation;
 import retrofit2.Retrofit;
 import retrofit2.converter.gson.GsonConverterFactory;
 
+import java.io.File;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
 
 /**
- * REST API client for Software Maker backend
+ * REST API client for Software Maker backend.
+ *
+ * Holds one ApiService and AsyncApiService per named backend. All
+ * backends share a single OkHttpClient (and with it the connection pool
+ * and cache) and a single Gson, so adding or switching backends only
+ * builds a lightweight Retrofit facade. INTERACTIVE calls are dispatched
+ * by their own Dispatcher, so they never wait for dispatcher slots held
+ * by background calls queued in the Bulkhead. Safe to call from any
+ * thread.
  */
 public class ApiClient {
 
-    private static final String BASE_URL = "http://10.0.2.2:8000/";  // Android emulator localhost
-    private static ApiService apiService;
+    public static final String DEFAULT_BACKEND = "default";
+    private static final String DEFAULT_BASE_URL = "http://10.0.2.2:8000/";  // Android emulator localhost
+    private static final long CACHE_SIZE_BYTES = 10 * 1024 * 1024;
+    private static final long LOG_BODY_BYTES = 4 * 1024;
+    private static final int MAX_DISPATCHED_REQUESTS = 128;
+    private static final int MAX_DISPATCHED_INTERACTIVE_REQUESTS = 16;
+
+    private static final Gson GSON = new GsonBuilder()
+            .registerTypeAdapterFactory(new ModelTypeAdapters())
+            .create();
+
+    /** A named backend instance and its services */
+    public static final class Backend {
+        private final String name;
+        private final String replicaGroup;
+        private final HttpUrl url;
+        private final ApiService apiService;
+        private final AsyncApiService asyncApiService;
+
+        Backend(String name, String replicaGroup, HttpUrl url, ApiService apiService,
+                AsyncApiService asyncApiService) {
+            this.name = name;
+            this.replicaGroup = replicaGroup;
+            this.url = url;
+            this.apiService = apiService;
+            this.asyncApiService = asyncApiService;
+        }
+
+        public String getName() { return name; }
+        /** Backends sharing a group serve the same data; LoadBalancer spreads calls across them */
+        public String getReplicaGroup() { return replicaGroup; }
+        public String getBaseUrl() { return url.toString(); }
+        public HttpUrl getUrl() { return url; }
+        public ApiService getApiService() { return apiService; }
+        public AsyncApiService getAsyncApiService() { return asyncApiService; }
+    }
+
+    private static final Map<String, Backend> backends = new ConcurrentHashMap<>();
+    private static volatile String activeBackend = DEFAULT_BACKEND;
+
+    private static volatile File cacheDir;
+    private static volatile OkHttpClient httpClient;
+    private static volatile OkHttpClient interactiveClient;
+    private static volatile RequestLogger requestLogger;
+    private static final Bulkhead BULKHEAD = new Bulkhead();
+
+    /**
+     * Enable the on-disk HTTP cache. The backend sends ETags with
+     * no-cache, so every GET is revalidated and unchanged resources come
+     * back as bodyless 304s served from the cache.
+     */
+    public static void init(Context context) {
+        cacheDir = new File(context.getCacheDir(), "http");
+    }
+
+    /**
+     * Add or replace a backend. Calls already made keep their backend.
+     */
+    public static Backend registerBackend(String name, String baseUrl) {
+        return registerBackend(name, baseUrl, name);
+    }
+
+    /**
+     * Add or replace a backend as a replica: calls to any backend of the
+     * group may be served by any other. Backends in different groups are
+     * never substituted for one another.
+     */
+    public static Backend registerBackend(String name, String baseUrl, String replicaGroup) {
+        HttpUrl url = HttpUrl.get(baseUrl.endsWith("/") ? baseUrl : baseUrl + "/");
+        Retrofit retrofit = new Retrofit.Builder()
+                .baseUrl(url)
+                .callFactory(ApiClient::newCall)
+                .addConverterFactory(new TimingConverterFactory())
+                .addConverterFactory(GsonConverterFactory.create(GSON))
+                .addCallAdapterFactory(new SingleFlightCallAdapterFactory())
+                .addCallAdapterFactory(CallFuture.FACTORY)
+                .build();
+
+        Backend backend = new Backend(name, replicaGroup, url, retrofit.create(ApiService.class),
+                retrofit.create(AsyncApiService.class));
+        backends.put(name, backend);
+        return backend;
+    }
+
+    public static void unregisterBackend(String name) {
+        if (!DEFAULT_BACKEND.equals(name)) {
+            backends.remove(name);
+        }
+    }
+
+    /**
+     * Route subsequent getApiService() calls to the named backend
+     */
+    public static void selectBackend(String name) {
+        // The default backend is registered lazily; make sure it exists before the lookup
+        getDefaultBackend();
+        if (!backends.containsKey(name)) {
+            throw new IllegalArgumentException("Unknown backend: " + name);
+        }
+        activeBackend = name;
+    }
+
+    public static Backend getBackend(String name) {
+        return DEFAULT_BACKEND.equals(name) ? getDefaultBackend() : backends.get(name);
+    }
+
+    public static Collection<Backend> getBackends() {
+        getDefaultBackend();
+        return Collections.unmodifiableCollection(backends.values());
+    }
+
+    public static Backend getActiveBackend() {
+        Backend backend = backends.get(activeBackend);
+        return backend != null ? backend : getDefaultBackend();
+    }
 
     public static ApiService getApiService() {
-        if (apiService == null) {
-            // Logging interceptor
-            HttpLoggingInterceptor logging = new HttpLoggingInterceptor();
-            logging.setLevel(HttpLoggingInterceptor.Level.BODY);
-
-            // HTTP client
-            OkHttpClient client = new OkHttpClient.Builder()
-                    .addInterceptor(logging)
-                    .connectTimeout(30, TimeUnit.SECONDS)
-                    .readTimeout(30, TimeUnit.SECONDS)
-                    .writeTimeout(30, TimeUnit.SECONDS)
-                    .build();
-
-            // Retrofit instance
-            Retrofit retrofit = new Retrofit.Builder()
-                    .baseUrl(BASE_URL)
-                    .client(client)
-                    .addConverterFactory(GsonConverterFactory.create())
-                    .build();
-
-            apiService = retrofit.create(ApiService.class);
+        return getActiveBackend().getApiService();
+    }
+
+    public static AsyncApiService getAsyncApiService() {
+        return getActiveBackend().getAsyncApiService();
+    }
+
+    private static Backend getDefaultBackend() {
+        Backend backend = backends.get(DEFAULT_BACKEND);
+        if (backend == null) {
+            synchronized (ApiClient.class) {
+                backend = backends.get(DEFAULT_BACKEND);
+                if (backend == null) {
+                    backend = registerBackend(DEFAULT_BACKEND, DEFAULT_BASE_URL);
+                }
+            }
+        }
+        return backend;
+    }
+
+    /**
+     * Route a Retrofit call to the interactive or the shared dispatcher
+     */
+    private static Call newCall(Request request) {
+        OkHttpClient client = getHttpClient();
+        if (request.tag(Invocation.class) != null
+                && Bulkhead.poolOf(CallPriority.of(request)) == Bulkhead.Pool.INTERACTIVE) {
+            return interactiveClient.newCall(request);
+        }
+        return client.newCall(request);
+    }
+
+    /**
+     * Shared HTTP client, also used for WebSocket connections
+     */
+    public static OkHttpClient getHttpClient() {
+        OkHttpClient client = httpClient;
+        if (client != null) return client;
+
+        synchronized (ApiClient.class) {
+            if (httpClient == null) {
+                // The bulkhead decides how many calls run; the dispatcher only needs room for
+                // them plus the ones waiting in its queues
+                Dispatcher dispatcher = new Dispatcher();
+                dispatcher.setMaxRequests(MAX_DISPATCHED_REQUESTS);
+                dispatcher.setMaxRequestsPerHost(MAX_DISPATCHED_REQUESTS);
+
+                OkHttpClient.Builder builder = new OkHttpClient.Builder()
+                        .dispatcher(dispatcher)
+                        .addInterceptor(CircuitBreaker.INTERCEPTOR)
+                        .addInterceptor(BULKHEAD)
+                        .addInterceptor(LoadBalancer.INTERCEPTOR)
+                        .addInterceptor(NetworkMonitor.INTERCEPTOR)
+                        .eventListenerFactory(MetricsEventListener.FACTORY)
+                        .connectTimeout(30, TimeUnit.SECONDS)
+                        .readTimeout(30, TimeUnit.SECONDS)
+                        .writeTimeout(30, TimeUnit.SECONDS);
+
+                if (cacheDir != null) {
+                    builder.cache(new Cache(cacheDir, CACHE_SIZE_BYTES));
+                }
+
+                // Request logging is debug-only; release builds skip the interceptor entirely
+                if (BuildConfig.DEBUG) {
+                    requestLogger = new RequestLogger(RequestLogger.Level.HEADERS, 1.0, LOG_BODY_BYTES,
+                            entry -> Log.d("RequestLogger", entry));
+                    builder.addInterceptor(requestLogger);
+                }
+
+                OkHttpClient shared = builder.build();
+                // Same interceptors, pool and cache; only the dispatcher differs
+                Dispatcher interactiveDispatcher = new Dispatcher();
+                interactiveDispatcher.setMaxRequests(MAX_DISPATCHED_INTERACTIVE_REQUESTS);
+                interactiveDispatcher.setMaxRequestsPerHost(MAX_DISPATCHED_INTERACTIVE_REQUESTS);
+                interactiveClient = shared.newBuilder().dispatcher(interactiveDispatcher).build();
+                httpClient = shared;
+            }
+            return httpClient;
         }
+    }
 
-        return apiService;
+    public static Bulkhead getBulkhead() {
+        return BULKHEAD;
     }
 
+    /**
+     * Request logger for runtime tuning, or null in release builds
+     */
+    public static RequestLogger getRequestLogger() {
+        getHttpClient();
+        return requestLogger;
+    }
+
+    /**
+     * Gson configured with the reflection-free model adapters
+     */
+    public static Gson getGson() {
+        return GSON;
+    }
+
+    public static String getBaseUrl() {
+        return getActiveBackend().getBaseUrl();
+    }
+
+    /**
+     * Point the default backend at a new URL and make it active
+     */
     public static void setBaseUrl(String baseUrl) {
-        apiService = null;  // Force recreation with new URL
+        synchronized (ApiClient.class) {
+            registerBackend(DEFAULT_BACKEND, baseUrl);
+        }
+        activeBackend = DEFAULT_BACKEND;
     }
 }
@@ -1,6 +1,7 @@
 package com.softsmith.maker;
 
 import java.util.List;
+import okhttp3.ResponseBody;
 import retrofit2.Call;
 import retrofit2.http.*;
 
@@ -9,33 +10,87 @@ import retrofit2.http.*;
  */
 public interface ApiService {
 
+    @Priority(CallPriority.VISIBLE_REFRESH)
     @GET("projects")
     Call<List<Project>> getProjects(
         @Query("limit") int limit,
         @Query("offset") int offset
     );
 
+    /**
+     * Projects updated after the given cursor, least recently updated first
+     */
+    @Priority(CallPriority.BACKGROUND_SYNC)
+    @GET("projects")
+    Call<List<Project>> getProjectsUpdatedSince(
+        @Query("updated_since") String updatedSince,
+        @Query("after_id") String afterId,
+        @Query("limit") int limit
+    );
+
+    @Priority(CallPriority.VISIBLE_REFRESH)
     @GET("projects/{id}")
     Call<Project> getProject(@Path("id") String projectId);
 
+    @Priority(CallPriority.INTERACTIVE)
     @POST("projects")
     Call<Project> createProject(@Body CreateProjectRequest request);
 
+    @Priority(CallPriority.VISIBLE_REFRESH)
     @GET("projects/{id}/stats")
     Call<ProjectStats> getProjectStats(@Path("id") String projectId);
 
+    @Priority(CallPriority.VISIBLE_REFRESH)
     @GET("projects/{id}/events")
     Call<List<Event>> getProjectEvents(
         @Path("id") String projectId,
         @Query("limit") int limit
     );
 
+    /**
+     * Same as getProjectEvents, with the body left unread for incremental decoding
+     */
+    @Priority(CallPriority.VISIBLE_REFRESH)
+    @Streaming
+    @GET("projects/{id}/events")
+    Call<ResponseBody> streamProjectEvents(
+        @Path("id") String projectId,
+        @Query("limit") int limit
+    );
+
+    /**
+     * Events logged after the given cursor, oldest first
+     */
+    @Priority(CallPriority.VISIBLE_REFRESH)
+    @GET("projects/{id}/events")
+    Call<List<Event>> getProjectEventsSince(
+        @Path("id") String projectId,
+        @Query("since") String since,
+        @Query("after_id") String afterId,
+        @Query("limit") int limit
+    );
+
+    /**
+     * Events logged before the given cursor, newest first
+     */
+    @Priority(CallPriority.PREFETCH)
+    @GET("projects/{id}/events")
+    Call<List<Event>> getProjectEventsBefore(
+        @Path("id") String projectId,
+        @Query("before") String before,
+        @Query("before_id") String beforeId,
+        @Query("limit") int limit
+    );
+
+    @Priority(CallPriority.INTERACTIVE)
     @POST("projects/{id}/pause")
     Call<ApiResponse> pauseProject(@Path("id") String projectId);
 
+    @Priority(CallPriority.INTERACTIVE)
     @POST("projects/{id}/resume")
     Call<ApiResponse> resumeProject(@Path("id") String projectId);
 
+    @Priority(CallPriority.INTERACTIVE)
     @DELETE("projects/{id}")
     Call<ApiResponse> deleteProject(@Path("id") String projectId);
 }
@@ -0,0 +1,40 @@
+package com.softsmith.maker;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import retrofit2.http.GET;
+import retrofit2.http.Path;
+import retrofit2.http.Query;
+
+/**
+ * Composable variant of the ApiService reads used by the detail screen.
+ *
+ * Backed by CallFuture: each call is enqueued as soon as the method
+ * returns and its body is decoded on an OkHttp dispatcher thread, so
+ * futures can be combined without touching the main thread. Errors
+ * complete the future exceptionally, HTTP errors as HttpException.
+ * Canceling a future cancels its call.
+ */
+public interface AsyncApiService {
+
+    @Priority(CallPriority.VISIBLE_REFRESH)
+    @GET("projects/{id}")
+    CompletableFuture<Project> getProject(@Path("id") String projectId);
+
+    @Priority(CallPriority.VISIBLE_REFRESH)
+    @GET("projects/{id}/stats")
+    CompletableFuture<ProjectStats> getProjectStats(@Path("id") String projectId);
+
+    /**
+     * Events logged after the given cursor, oldest first
+     */
+    @Priority(CallPriority.VISIBLE_REFRESH)
+    @GET("projects/{id}/events")
+    CompletableFuture<List<Event>> getProjectEventsSince(
+        @Path("id") String projectId,
+        @Query("since") String since,
+        @Query("after_id") String afterId,
+        @Query("limit") int limit
+    );
+}
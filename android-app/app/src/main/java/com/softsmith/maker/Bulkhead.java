@@ -0,0 +1,51 @@
+package com.softsmith.maker;
+
+import java.io.IOException;
+
+import okhttp3.Interceptor;
+import okhttp3.Request;
+import okhttp3.Response;
+import retrofit2.Invocation;
+
+/**
+ * Isolated concurrency pools for ApiService calls.
+ *
+ * INTERACTIVE calls (createProject, pause, resume, delete) run in their
+ * own pool and everything else in the BACKGROUND pool, each behind its
+ * own adaptive ConcurrencyLimiter, so a user action never waits for a
+ * slot held by a stuck poll. Calls wait here while holding a dispatcher
+ * slot, so ApiClient gives INTERACTIVE calls their own Dispatcher too.
+ * Prefetches and background sync are also held back while a user action
+ * is running. WebSockets, health probes and cache-only lookups pass
+ * through.
+ */
+public final class Bulkhead implements Interceptor {
+
+    public enum Pool { INTERACTIVE, BACKGROUND }
+
+    private final ConcurrencyLimiter interactive = new ConcurrencyLimiter(2, 4, 8, () -> false);
+    private final ConcurrencyLimiter background = new ConcurrencyLimiter(2, 8, 32,
+            () -> interactive.getInFlight() > 0);
+
+    @Override
+    public Response intercept(Chain chain) throws IOException {
+        Request request = chain.request();
+        if (request.tag(Invocation.class) == null || request.cacheControl().onlyIfCached()) {
+            return chain.proceed(request);
+        }
+        return getLimiter(poolOf(CallPriority.of(request))).intercept(chain);
+    }
+
+    static Pool poolOf(CallPriority priority) {
+        return priority == CallPriority.INTERACTIVE ? Pool.INTERACTIVE : Pool.BACKGROUND;
+    }
+
+    public ConcurrencyLimiter getLimiter(Pool pool) {
+        return pool == Pool.INTERACTIVE ? interactive : background;
+    }
+
+    /** Time calls of the given class spent waiting for a slot */
+    public LatencyHistogram getQueueDelay(CallPriority priority) {
+        return getLimiter(poolOf(priority)).getQueueDelay(priority);
+    }
+}
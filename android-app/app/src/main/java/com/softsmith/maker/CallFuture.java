@@ -0,0 +1,84 @@
+package com.softsmith.maker;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import okhttp3.Request;
+import retrofit2.Call;
+import retrofit2.CallAdapter;
+import retrofit2.Callback;
+import retrofit2.HttpException;
+import retrofit2.Response;
+import retrofit2.Retrofit;
+
+/**
+ * CompletableFuture of a Retrofit call's body, for AsyncApiService.
+ *
+ * Behaves like Retrofit's built-in adapter: the call is enqueued right
+ * away, HTTP errors complete the future with HttpException and canceling
+ * the future cancels the call. The call's request stays reachable, so
+ * CallTracker can tell whether a canceled future was still downloading.
+ */
+public final class CallFuture<T> extends CompletableFuture<T> implements RequestSource {
+
+    /** Adapts CompletableFuture<T> methods; Response<T> is left to Retrofit's adapter */
+    public static final CallAdapter.Factory FACTORY = new CallAdapter.Factory() {
+        @Override
+        public CallAdapter<?, ?> get(Type returnType, Annotation[] annotations, Retrofit retrofit) {
+            if (getRawType(returnType) != CompletableFuture.class
+                    || !(returnType instanceof ParameterizedType)) {
+                return null;
+            }
+            Type bodyType = getParameterUpperBound(0, (ParameterizedType) returnType);
+            if (getRawType(bodyType) == Response.class) return null;
+
+            return new CallAdapter<Object, CompletableFuture<Object>>() {
+                @Override
+                public Type responseType() {
+                    return bodyType;
+                }
+
+                @Override
+                public CompletableFuture<Object> adapt(Call<Object> call) {
+                    return new CallFuture<>(call);
+                }
+            };
+        }
+    };
+
+    private final Call<T> call;
+
+    private CallFuture(Call<T> call) {
+        this.call = call;
+        call.enqueue(new Callback<T>() {
+            @Override
+            public void onResponse(Call<T> call, Response<T> response) {
+                if (response.isSuccessful()) {
+                    complete(response.body());
+                } else {
+                    completeExceptionally(new HttpException(response));
+                }
+            }
+
+            @Override
+            public void onFailure(Call<T> call, Throwable t) {
+                completeExceptionally(t);
+            }
+        });
+    }
+
+    @Override
+    public List<Request> getRequests() {
+        return Collections.singletonList(call.request());
+    }
+
+    @Override
+    public boolean cancel(boolean mayInterruptIfRunning) {
+        if (mayInterruptIfRunning) call.cancel();
+        return super.cancel(mayInterruptIfRunning);
+    }
+}
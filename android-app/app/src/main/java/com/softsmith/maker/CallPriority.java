@@ -0,0 +1,41 @@
+package com.softsmith.maker;
+
+import okhttp3.Request;
+import retrofit2.Invocation;
+
+/**
+ * Scheduling classes for ApiService calls, most urgent first.
+ *
+ * Each ApiService method declares its class with @Priority; methods
+ * without one are INTERACTIVE when they change something and
+ * VISIBLE_REFRESH when they only read.
+ */
+public enum CallPriority {
+    /** User actions: create, pause, resume, delete */
+    INTERACTIVE,
+    /** Reloads of what is on screen */
+    VISIBLE_REFRESH,
+    /** Pages loaded ahead of scrolling, dropped from the queue when more urgent calls wait */
+    PREFETCH,
+    /** Offline sync, held back while user actions are in flight */
+    BACKGROUND_SYNC;
+
+    /** Whether queued calls of this class may be dropped for more urgent ones */
+    boolean isPreemptible() {
+        return this == PREFETCH;
+    }
+
+    /** Whether calls of this class wait while any INTERACTIVE call is running */
+    boolean yieldsToInteractive() {
+        return compareTo(PREFETCH) >= 0;
+    }
+
+    static CallPriority of(Request request) {
+        Invocation invocation = request.tag(Invocation.class);
+        if (invocation != null) {
+            Priority priority = invocation.method().getAnnotation(Priority.class);
+            if (priority != null) return priority.value();
+        }
+        return "GET".equals(request.method()) ? VISIBLE_REFRESH : INTERACTIVE;
+    }
+}
@@ -0,0 +1,230 @@
+package com.softsmith.maker;
+
+import androidx.annotation.NonNull;
+import androidx.lifecycle.DefaultLifecycleObserver;
+import androidx.lifecycle.Lifecycle;
+import androidx.lifecycle.LifecycleOwner;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+import okhttp3.Request;
+import retrofit2.Call;
+import retrofit2.Callback;
+import retrofit2.Response;
+
+/**
+ * Ties calls and callbacks to the lifecycle of a screen.
+ *
+ * Calls enqueued, and calls and futures tracked through it, are canceled
+ * when the owner is destroyed, and callbacks bound to it are dropped from
+ * then on, so no response is decoded or bound for a screen that is gone
+ * and the screen can be collected without waiting for the network. Repository requests
+ * are shared with other screens and are not canceled, only unbound.
+ * Must be used on the main thread.
+ */
+public final class CallTracker implements DefaultLifecycleObserver {
+
+    private static final AtomicLong canceledCalls = new AtomicLong();
+    private static final AtomicLong bytesSkipped = new AtomicLong();
+
+    private final Set<Call<?>> calls = new HashSet<>();
+    // Calls executed elsewhere, e.g. on a decode thread
+    private final Set<Call<?>> executing = new HashSet<>();
+    private final Set<CompletableFuture<?>> futures = new HashSet<>();
+    // Weak: the repository holds bound callbacks only while its request is in flight
+    private final Set<Bound<?>> bound = Collections.newSetFromMap(new WeakHashMap<>());
+    private boolean destroyed;
+
+    public CallTracker(LifecycleOwner owner) {
+        if (owner.getLifecycle().getCurrentState() == Lifecycle.State.DESTROYED) {
+            destroyed = true;
+        } else {
+            owner.getLifecycle().addObserver(this);
+        }
+    }
+
+    /** Calls canceled because their screen was destroyed */
+    public static long getCanceledCount() {
+        return canceledCalls.get();
+    }
+
+    /**
+     * Estimate of the response bytes those calls did not download: each
+     * endpoint's average response size, counted only for calls that were
+     * still in flight when canceled. Futures count through RequestSource.
+     */
+    public static long getEstimatedBytesSkipped() {
+        return bytesSkipped.get();
+    }
+
+    public boolean isDestroyed() {
+        return destroyed;
+    }
+
+    /**
+     * Enqueue a call that is canceled, and whose callback never runs,
+     * once the owner is destroyed
+     */
+    public <T> void enqueue(Call<T> call, Callback<T> callback) {
+        if (destroyed) {
+            cancel(call);
+            return;
+        }
+        calls.add(call);
+        call.enqueue(new Callback<T>() {
+            Callback<T> delegate = callback;
+
+            @Override
+            public void onResponse(Call<T> call, Response<T> response) {
+                if (finish(call)) delegate.onResponse(call, response);
+                delegate = null;
+            }
+
+            @Override
+            public void onFailure(Call<T> call, Throwable t) {
+                if (finish(call)) delegate.onFailure(call, t);
+                delegate = null;
+            }
+        });
+    }
+
+    /**
+     * Cancel the future, and with it its calls, once the owner is
+     * destroyed. Stages chained after it then never run.
+     */
+    public <T> CompletableFuture<T> track(CompletableFuture<T> future) {
+        futures.removeIf(CompletableFuture::isDone);
+        if (destroyed) {
+            cancel(future);
+        } else {
+            futures.add(future);
+        }
+        return future;
+    }
+
+    /**
+     * Cancel a call executed elsewhere, e.g. on a decode thread, if it is
+     * still running once the owner is destroyed
+     */
+    public <T> Call<T> track(Call<T> call) {
+        executing.removeIf(CallTracker::isFinished);
+        if (destroyed) {
+            cancel(call);
+        } else {
+            executing.add(call);
+        }
+        return call;
+    }
+
+    /**
+     * A repository callback that stops delivering once the owner is destroyed
+     */
+    public <T> ProjectRepository.Callback<T> bind(ProjectRepository.Callback<T> callback) {
+        Bound<T> wrapper = new Bound<>();
+        if (!destroyed) wrapper.delegate = callback;
+        bound.add(wrapper);
+        return wrapper;
+    }
+
+    /**
+     * A local read callback that stops delivering once the owner is destroyed
+     */
+    public <T> Consumer<T> bind(Consumer<T> callback) {
+        Bound<T> wrapper = new Bound<>();
+        if (!destroyed) wrapper.consumer = callback;
+        bound.add(wrapper);
+        return wrapper;
+    }
+
+    private static final class Bound<T> implements ProjectRepository.Callback<T>, Consumer<T> {
+        ProjectRepository.Callback<T> delegate;
+        Consumer<T> consumer;
+
+        @Override
+        public void onResult(T value) {
+            if (delegate != null) delegate.onResult(value);
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            if (delegate != null) delegate.onError(t);
+        }
+
+        @Override
+        public void accept(T value) {
+            if (consumer != null) consumer.accept(value);
+        }
+    }
+
+    @Override
+    public void onDestroy(@NonNull LifecycleOwner owner) {
+        destroyed = true;
+        owner.getLifecycle().removeObserver(this);
+        for (Call<?> call : calls) {
+            cancel(call);
+        }
+        calls.clear();
+        for (Call<?> call : executing) {
+            if (!isFinished(call)) cancel(call);
+        }
+        executing.clear();
+        for (CompletableFuture<?> future : futures) {
+            cancel(future);
+        }
+        futures.clear();
+        for (Bound<?> wrapper : bound) {
+            wrapper.delegate = null;
+            wrapper.consumer = null;
+        }
+        bound.clear();
+    }
+
+    /** Whether the callback should still run */
+    private boolean finish(Call<?> call) {
+        calls.remove(call);
+        return !destroyed && !call.isCanceled();
+    }
+
+    /** Whether the call has run to its end, so canceling it saves nothing */
+    private static boolean isFinished(Call<?> call) {
+        return call.isExecuted() && !NetworkMetrics.isInFlight(call.request());
+    }
+
+    private static void cancel(CompletableFuture<?> future) {
+        // Estimated first: canceling ends the calls
+        long skipped = 0;
+        if (future instanceof RequestSource) {
+            for (Request request : ((RequestSource) future).getRequests()) {
+                skipped += estimateSkipped(request);
+            }
+        }
+        if (future.cancel(true)) {
+            canceledCalls.incrementAndGet();
+            bytesSkipped.addAndGet(skipped);
+        }
+    }
+
+    private static void cancel(Call<?> call) {
+        long skipped = estimateSkipped(call.request());
+        call.cancel();
+        canceledCalls.incrementAndGet();
+        bytesSkipped.addAndGet(skipped);
+    }
+
+    /**
+     * The endpoint's average response size for a call still in flight. One
+     * that never started or has already been read downloads nothing more.
+     */
+    private static long estimateSkipped(Request request) {
+        if (!NetworkMetrics.isInFlight(request)) return 0;
+        NetworkMetrics.Endpoint endpoint = NetworkMetrics.endpoint(NetworkMetrics.keyOf(request));
+        long count = endpoint.calls.get();
+        return count > 0 ? endpoint.bytesReceived.get() / count : 0;
+    }
+}
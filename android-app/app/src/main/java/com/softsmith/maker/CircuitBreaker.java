@@ -0,0 +1,168 @@
+package com.softsmith.maker;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import okhttp3.CacheControl;
+import okhttp3.Interceptor;
+import okhttp3.Request;
+import okhttp3.Response;
+import retrofit2.Invocation;
+
+/**
+ * Per-endpoint circuit breakers for ApiService calls.
+ *
+ * After FAILURE_THRESHOLD consecutive failures (I/O errors or 5xx) an
+ * endpoint's circuit opens and its calls fail fast with
+ * CircuitOpenException instead of waiting out a timeout. GETs are first
+ * answered from the HTTP cache when it holds a copy. Once the open period
+ * has passed a single trial call is let through: success closes the
+ * circuit, failure reopens it for twice as long, up to MAX_OPEN_MS.
+ *
+ * Endpoints are kept apart per replica group, or per host outside the
+ * registered backends, so a failing backend does not open the circuit
+ * for a healthy one selected in its place.
+ */
+public final class CircuitBreaker {
+
+    static final int FAILURE_THRESHOLD = 3;
+    static final long MIN_OPEN_MS = 10_000;
+    static final long MAX_OPEN_MS = 120_000;
+
+    public enum State { CLOSED, OPEN, HALF_OPEN }
+
+    /** Thrown for calls rejected by an open circuit */
+    public static class CircuitOpenException extends IOException {
+        CircuitOpenException(String endpoint) {
+            super("Circuit open for " + endpoint);
+        }
+    }
+
+    private static final Map<String, CircuitBreaker> breakers = new ConcurrentHashMap<>();
+
+    public static final Interceptor INTERCEPTOR = new Interceptor() {
+        @Override
+        public Response intercept(Chain chain) throws IOException {
+            Request request = chain.request();
+            if (request.tag(Invocation.class) == null || request.cacheControl().onlyIfCached()) {
+                return chain.proceed(request);
+            }
+
+            String key = keyOf(request, ApiClient.getBackends());
+            CircuitBreaker breaker = forEndpoint(key);
+            if (!breaker.allowRequest()) {
+                breaker.rejected.incrementAndGet();
+                if ("GET".equals(request.method())) {
+                    Response cached = chain.proceed(request.newBuilder()
+                            .cacheControl(CacheControl.FORCE_CACHE)
+                            .build());
+                    // 504 is OkHttp's answer when the cache cannot satisfy the request
+                    if (cached.code() != 504) return cached;
+                    cached.close();
+                }
+                throw new CircuitOpenException(key);
+            }
+
+            Response response;
+            try {
+                response = chain.proceed(request);
+            } catch (IOException e) {
+                // A prefetch dropped in the queue never reached the endpoint
+                if (chain.call().isCanceled() || e instanceof ConcurrencyLimiter.PreemptedException) {
+                    breaker.onCanceled();
+                } else {
+                    breaker.onFailure();
+                }
+                throw e;
+            }
+            if (response.code() >= 500) {
+                breaker.onFailure();
+            } else {
+                breaker.onSuccess();
+            }
+            return response;
+        }
+    };
+
+    /**
+     * Endpoint key qualified by its backend, e.g. "default GET projects/{id}/events".
+     * Replicas share a breaker: LoadBalancer already steers around a single bad node.
+     */
+    static String keyOf(Request request, Collection<ApiClient.Backend> backends) {
+        ApiClient.Backend backend = LoadBalancer.match(request.url(), backends);
+        String target = backend != null ? backend.getReplicaGroup()
+                : request.url().host() + ":" + request.url().port();
+        return target + " " + NetworkMetrics.keyOf(request);
+    }
+
+    public static CircuitBreaker forEndpoint(String key) {
+        return breakers.computeIfAbsent(key, k -> new CircuitBreaker());
+    }
+
+    /** Snapshot of all breakers seen so far, sorted by endpoint */
+    public static Map<String, CircuitBreaker> getBreakers() {
+        return new TreeMap<>(breakers);
+    }
+
+    private State state = State.CLOSED;
+    private int consecutiveFailures;
+    private long openMs = MIN_OPEN_MS;
+    private long openedAt;
+    private boolean trialInFlight;
+    final AtomicLong rejected = new AtomicLong();
+
+    synchronized boolean allowRequest() {
+        if (state == State.CLOSED) return true;
+        if (state == State.OPEN && System.currentTimeMillis() - openedAt >= openMs) {
+            state = State.HALF_OPEN;
+        }
+        if (state == State.HALF_OPEN && !trialInFlight) {
+            trialInFlight = true;
+            return true;
+        }
+        return false;
+    }
+
+    synchronized void onSuccess() {
+        state = State.CLOSED;
+        consecutiveFailures = 0;
+        openMs = MIN_OPEN_MS;
+        trialInFlight = false;
+    }
+
+    synchronized void onFailure() {
+        consecutiveFailures++;
+        if (state == State.HALF_OPEN) {
+            openMs = Math.min(MAX_OPEN_MS, openMs * 2);
+            open();
+        } else if (state == State.CLOSED && consecutiveFailures >= FAILURE_THRESHOLD) {
+            open();
+        }
+    }
+
+    /** A canceled or preempted trial says nothing about the endpoint; let the next call try */
+    synchronized void onCanceled() {
+        trialInFlight = false;
+    }
+
+    private void open() {
+        state = State.OPEN;
+        openedAt = System.currentTimeMillis();
+        trialInFlight = false;
+    }
+
+    public synchronized State getState() {
+        return state;
+    }
+
+    /** Calls failed fast or served from cache while the circuit was open */
+    public long getRejectedCount() {
+        return rejected.get();
+    }
+
+    private CircuitBreaker() {}
+}
@@ -0,0 +1,230 @@
+package com.softsmith.maker;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.Iterator;
+import java.util.PriorityQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BooleanSupplier;
+import java.util.function.LongSupplier;
+
+import okhttp3.Interceptor;
+import okhttp3.Request;
+import okhttp3.Response;
+
+/**
+ * Adaptive limit on concurrent calls (AIMD), one per Bulkhead pool.
+ *
+ * The limit grows by one per round trip while calls come back close to
+ * the long-run latency, and is cut by BACKOFF when a call fails, gets a
+ * 5xx, or takes more than LATENCY_TOLERANCE times that latency, at most
+ * once per round trip. Latency is measured up to the response headers.
+ *
+ * Calls over the limit wait in a queue ordered by CallPriority, FIFO
+ * within a class. When a call has to wait, queued calls of a less urgent
+ * preemptible class are dropped with PreemptedException, and
+ * classes that yield to interactive work are held back while the
+ * interactive check reports busy.
+ */
+public final class ConcurrencyLimiter implements Interceptor {
+
+    static final double BACKOFF = 0.75;
+    static final double LATENCY_TOLERANCE = 2.0;
+    static final double RTT_ALPHA = 0.05;
+    private static final long CANCEL_CHECK_MS = 100;
+
+    /** Thrown for a queued call dropped in favour of more urgent work */
+    public static class PreemptedException extends IOException {
+        PreemptedException(CallPriority priority) {
+            super(priority + " call preempted");
+        }
+    }
+
+    private static final class Waiter implements Comparable<Waiter> {
+        final CallPriority priority;
+        final long seq;
+        boolean preempted;
+
+        Waiter(CallPriority priority, long seq) {
+            this.priority = priority;
+            this.seq = seq;
+        }
+
+        @Override
+        public int compareTo(Waiter other) {
+            if (priority != other.priority) return priority.compareTo(other.priority);
+            return Long.compare(seq, other.seq);
+        }
+    }
+
+    private final PriorityQueue<Waiter> queue = new PriorityQueue<>();
+    private long nextSeq;
+    private final int minLimit;
+    private final int maxLimit;
+    private double limit;
+    private int inFlight;
+    private double rttMs;
+    private long lastBackoffNanos;
+
+    private final AtomicLong queuedCount = new AtomicLong();
+    private final AtomicLong backoffCount = new AtomicLong();
+    private final AtomicLong preemptedCount = new AtomicLong();
+    private final LatencyHistogram[] queueDelay = new LatencyHistogram[CallPriority.values().length];
+    private final BooleanSupplier interactiveBusy;
+    private final LongSupplier nanoTime;
+
+    /**
+     * @param interactiveBusy whether interactive work is running elsewhere,
+     *                        holding back classes that yield to it
+     */
+    public ConcurrencyLimiter(int minLimit, int initialLimit, int maxLimit,
+                              BooleanSupplier interactiveBusy) {
+        this(minLimit, initialLimit, maxLimit, interactiveBusy, System::nanoTime);
+    }
+
+    /** With the clock latency is measured on, so tests can feed fixed latencies */
+    ConcurrencyLimiter(int minLimit, int initialLimit, int maxLimit,
+                       BooleanSupplier interactiveBusy, LongSupplier nanoTime) {
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.limit = initialLimit;
+        this.interactiveBusy = interactiveBusy;
+        this.nanoTime = nanoTime;
+        for (int i = 0; i < queueDelay.length; i++) {
+            queueDelay[i] = new LatencyHistogram();
+        }
+    }
+
+    @Override
+    public Response intercept(Chain chain) throws IOException {
+        Request request = chain.request();
+        CallPriority priority = CallPriority.of(request);
+        long queuedAt = nanoTime.getAsLong();
+        acquire(chain, priority);
+        long waited = nanoTime.getAsLong() - queuedAt;
+        queueDelay[priority.ordinal()].recordNanos(waited);
+        NetworkMetrics.endpoint(NetworkMetrics.keyOf(request))
+                .get(NetworkMetrics.Phase.QUEUE).recordNanos(waited);
+
+        long start = nanoTime.getAsLong();
+        boolean dropped = true;
+        try {
+            Response response = chain.proceed(request);
+            dropped = response.code() >= 500;
+            return response;
+        } finally {
+            if (chain.call().isCanceled()) {
+                release();
+            } else {
+                release((nanoTime.getAsLong() - start) / 1_000_000.0, dropped);
+            }
+        }
+    }
+
+    private synchronized void acquire(Chain chain, CallPriority priority) throws IOException {
+        if (queue.isEmpty() && inFlight < (int) limit && !heldBack(priority)) {
+            inFlight++;
+            return;
+        }
+
+        preemptBelow(priority);
+        Waiter waiter = new Waiter(priority, nextSeq++);
+        queue.add(waiter);
+        queuedCount.incrementAndGet();
+        try {
+            // Timed waits so cancellation and the interactive check are noticed
+            while (queue.peek() != waiter || inFlight >= (int) limit || heldBack(priority)) {
+                if (chain.call().isCanceled()) throw new IOException("Canceled");
+                if (waiter.preempted) throw new PreemptedException(priority);
+                wait(CANCEL_CHECK_MS);
+            }
+            inFlight++;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException();
+        } finally {
+            queue.remove(waiter);
+            notifyAll();
+        }
+    }
+
+    private boolean heldBack(CallPriority priority) {
+        return priority.yieldsToInteractive() && interactiveBusy.getAsBoolean();
+    }
+
+    private void preemptBelow(CallPriority priority) {
+        for (Iterator<Waiter> it = queue.iterator(); it.hasNext(); ) {
+            Waiter queued = it.next();
+            if (queued.priority.isPreemptible() && priority.compareTo(queued.priority) < 0) {
+                queued.preempted = true;
+                it.remove();
+                preemptedCount.incrementAndGet();
+            }
+        }
+        notifyAll();
+    }
+
+    private synchronized void release(double elapsedMs, boolean dropped) {
+        boolean saturated = inFlight >= (int) limit / 2;
+        if (rttMs == 0) rttMs = elapsedMs;
+
+        long now = nanoTime.getAsLong();
+        if (dropped || elapsedMs > rttMs * LATENCY_TOLERANCE) {
+            // Calls that overlapped the same overload all come back slow; cut once per round trip
+            if ((now - lastBackoffNanos) / 1_000_000.0 > rttMs) {
+                limit = Math.max(minLimit, limit * BACKOFF);
+                lastBackoffNanos = now;
+                backoffCount.incrementAndGet();
+            }
+        } else if (saturated) {
+            // Only grow when the current limit is actually being used
+            limit = Math.min(maxLimit, limit + 1 / limit);
+        }
+        // Slow samples still count, so a backend that stays slower becomes the new normal
+        rttMs += RTT_ALPHA * (elapsedMs - rttMs);
+        release();
+    }
+
+    /** Give the slot back without judging the call, e.g. when it was canceled */
+    private synchronized void release() {
+        inFlight--;
+        notifyAll();
+    }
+
+    public synchronized int getLimit() {
+        return (int) limit;
+    }
+
+    public synchronized int getInFlight() {
+        return inFlight;
+    }
+
+    public synchronized int getQueueLength() {
+        return queue.size();
+    }
+
+    /** Long-run response latency the limit is judged against */
+    public synchronized double getRttMs() {
+        return rttMs;
+    }
+
+    /** Calls that had to wait for a slot */
+    public long getQueuedCount() {
+        return queuedCount.get();
+    }
+
+    /** Times the limit was cut */
+    public long getBackoffCount() {
+        return backoffCount.get();
+    }
+
+    /** Queued prefetches dropped for more urgent calls */
+    public long getPreemptedCount() {
+        return preemptedCount.get();
+    }
+
+    /** Time calls of the given class spent waiting for a slot */
+    public LatencyHistogram getQueueDelay(CallPriority priority) {
+        return queueDelay[priority.ordinal()];
+    }
+}
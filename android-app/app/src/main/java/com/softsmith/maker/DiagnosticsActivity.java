@@ -0,0 +1,165 @@
+package com.softsmith.maker;
+
+import android.content.Intent;
+import android.os.Bundle;
+import android.os.Handler;
+import android.view.Menu;
+import android.view.MenuItem;
+import android.widget.TextView;
+
+import androidx.appcompat.app.AppCompatActivity;
+
+import com.google.gson.GsonBuilder;
+
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Activity showing live networking diagnostics: sync mode, request
+ * coalescing, concurrency, circuit breakers, backend health and
+ * per-endpoint latency percentiles
+ */
+public class DiagnosticsActivity extends AppCompatActivity {
+
+    private static final long REFRESH_INTERVAL_MS = 1000;
+
+    private TextView diagnosticsText;
+    private final Handler refreshHandler = new Handler();
+    private final Runnable refreshRunnable = new Runnable() {
+        @Override
+        public void run() {
+            diagnosticsText.setText(buildReport());
+            refreshHandler.postDelayed(this, REFRESH_INTERVAL_MS);
+        }
+    };
+
+    @Override
+    protected void onCreate(Bundle savedInstanceState) {
+        super.onCreate(savedInstanceState);
+        setContentView(R.layout.activity_diagnostics);
+        setTitle(R.string.diagnostics);
+        diagnosticsText = findViewById(R.id.diagnosticsText);
+    }
+
+    @Override
+    protected void onResume() {
+        super.onResume();
+        refreshHandler.post(refreshRunnable);
+    }
+
+    @Override
+    protected void onPause() {
+        super.onPause();
+        refreshHandler.removeCallbacks(refreshRunnable);
+    }
+
+    @Override
+    public boolean onCreateOptionsMenu(Menu menu) {
+        getMenuInflater().inflate(R.menu.diagnostics_menu, menu);
+        return true;
+    }
+
+    @Override
+    public boolean onOptionsItemSelected(MenuItem item) {
+        if (item.getItemId() == R.id.action_export) {
+            exportJson();
+            return true;
+        }
+        return super.onOptionsItemSelected(item);
+    }
+
+    /**
+     * Share the endpoint metrics as JSON
+     */
+    private void exportJson() {
+        String json = new GsonBuilder().setPrettyPrinting().create()
+                .toJson(NetworkMetrics.toJson());
+        Intent intent = new Intent(Intent.ACTION_SEND)
+                .setType("application/json")
+                .putExtra(Intent.EXTRA_SUBJECT, "Network metrics")
+                .putExtra(Intent.EXTRA_TEXT, json);
+        startActivity(Intent.createChooser(intent, getString(R.string.export_json)));
+    }
+
+    private String buildReport() {
+        StringBuilder sb = new StringBuilder();
+        NetworkMonitor.Mode mode = NetworkMonitor.getMode();
+
+        sb.append("Network\n");
+        line(sb, "Mode", mode.name());
+        line(sb, "Poll interval", "x" + mode.pollMultiplier);
+        line(sb, "Event page size", String.valueOf(mode.pageSize(EventPager.PAGE_SIZE)));
+        line(sb, "Event details", mode.includeDetails ? "included" : "skipped");
+        line(sb, "Bytes saved", formatBytes(NetworkMonitor.getSavedBytes())
+                + " (" + NetworkMonitor.getTrimmedResponses() + " responses)");
+
+        sb.append("\nRequests\n");
+        line(sb, "GETs sent", String.valueOf(SingleFlightCallAdapterFactory.getStartedCount()));
+        line(sb, "GETs coalesced", String.valueOf(SingleFlightCallAdapterFactory.getCoalescedCount()));
+        line(sb, "Canceled on close", CallTracker.getCanceledCount() + " (est. "
+                + formatBytes(CallTracker.getEstimatedBytesSkipped()) + " not downloaded)");
+        for (Bulkhead.Pool pool : Bulkhead.Pool.values()) {
+            ConcurrencyLimiter limiter = ApiClient.getBulkhead().getLimiter(pool);
+            line(sb, pool.name(), String.format(Locale.US,
+                    "%d of %d, %d waiting, %.0f ms baseline, %d queued, %d backoffs, %d preempted",
+                    limiter.getInFlight(), limiter.getLimit(), limiter.getQueueLength(),
+                    limiter.getRttMs(), limiter.getQueuedCount(), limiter.getBackoffCount(),
+                    limiter.getPreemptedCount()));
+        }
+        // Queueing delay p50 / p95 / p99 in ms per call class
+        for (CallPriority priority : CallPriority.values()) {
+            LatencyHistogram histogram = ApiClient.getBulkhead().getQueueDelay(priority);
+            if (histogram.getCount() == 0) continue;
+            line(sb, priority.name(), String.format(Locale.US, "%.1f / %.1f / %.1f ms queued",
+                    histogram.percentileMicros(50) / 1000.0,
+                    histogram.percentileMicros(95) / 1000.0,
+                    histogram.percentileMicros(99) / 1000.0));
+        }
+        for (Map.Entry<String, CircuitBreaker> entry : CircuitBreaker.getBreakers().entrySet()) {
+            CircuitBreaker breaker = entry.getValue();
+            if (breaker.getState() == CircuitBreaker.State.CLOSED && breaker.getRejectedCount() == 0) continue;
+            line(sb, entry.getKey(), breaker.getState() + " (" + breaker.getRejectedCount() + " rejected)");
+        }
+        RequestLogger logger = ApiClient.getRequestLogger();
+        if (logger != null) {
+            line(sb, "Log entries", logger.getEntries().size()
+                    + " (" + logger.getDroppedCount() + " dropped)");
+        }
+
+        sb.append("\nBackends\n");
+        for (ApiClient.Backend backend : ApiClient.getBackends()) {
+            LoadBalancer.NodeStats stats = LoadBalancer.getStats(backend.getName());
+            line(sb, backend.getName(), String.format(Locale.US, "%s %.0fms %.0f%% err %d active%s",
+                    backend.getBaseUrl(), stats.getLatencyMs(), stats.getErrorRate() * 100,
+                    stats.getInFlight(), stats.isHealthy() ? "" : " DOWN"));
+        }
+
+        // p50 / p95 / p99 in ms per phase
+        for (Map.Entry<String, NetworkMetrics.Endpoint> entry : NetworkMetrics.getEndpoints().entrySet()) {
+            NetworkMetrics.Endpoint endpoint = entry.getValue();
+            sb.append('\n').append(entry.getKey()).append('\n');
+            line(sb, "Calls", endpoint.calls.get() + " (" + endpoint.failures.get() + " failed)");
+            line(sb, "Bytes", formatBytes(endpoint.bytesSent.get()) + " out, "
+                    + formatBytes(endpoint.bytesReceived.get()) + " in");
+            for (NetworkMetrics.Phase phase : NetworkMetrics.Phase.values()) {
+                LatencyHistogram histogram = endpoint.get(phase);
+                if (histogram.getCount() == 0) continue;
+                line(sb, phase.name(), String.format(Locale.US, "%.1f / %.1f / %.1f ms",
+                        histogram.percentileMicros(50) / 1000.0,
+                        histogram.percentileMicros(95) / 1000.0,
+                        histogram.percentileMicros(99) / 1000.0));
+            }
+        }
+        return sb.toString();
+    }
+
+    private static void line(StringBuilder sb, String label, String value) {
+        sb.append(String.format(Locale.US, "  %-18s %s%n", label, value));
+    }
+
+    private static String formatBytes(long bytes) {
+        if (bytes < 1024) return bytes + " B";
+        if (bytes < 1024 * 1024) return String.format(Locale.US, "%.1f KB", bytes / 1024.0);
+        return String.format(Locale.US, "%.1f MB", bytes / (1024.0 * 1024));
+    }
+}
@@ -2,6 +2,8 @@ package com.softsmith.maker;
 
 import com.google.gson.annotations.SerializedName;
 
+import java.util.Objects;
+
 /**
  * Event/log model
  */
@@ -30,4 +32,28 @@ public class Event {
     public String getLevel() { return level; }
     public String getMessage() { return message; }
     public String getSource() { return source; }
+
+    // Setters
+    public void setId(String id) { this.id = id; }
+    public void setTimestamp(String timestamp) { this.timestamp = timestamp; }
+    public void setLevel(String level) { this.level = level; }
+    public void setMessage(String message) { this.message = message; }
+    public void setSource(String source) { this.source = source; }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof Event)) return false;
+        Event other = (Event) o;
+        return Objects.equals(id, other.id)
+                && Objects.equals(timestamp, other.timestamp)
+                && Objects.equals(level, other.level)
+                && Objects.equals(message, other.message)
+                && Objects.equals(source, other.source);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id, timestamp, level, message, source);
+    }
 }
@@ -1,24 +1,34 @@
 package com.softsmith.maker;
 
+import android.os.Handler;
+import android.os.Looper;
 import android.view.LayoutInflater;
 import android.view.View;
 import android.view.ViewGroup;
 import android.widget.TextView;
 
 import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.DiffUtil;
 import androidx.recyclerview.widget.RecyclerView;
 
-import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 /**
- * RecyclerView adapter for displaying events/logs
+ * RecyclerView adapter for displaying events/logs, bound directly from
+ * columnar EventStore pages
  */
 public class EventAdapter extends RecyclerView.Adapter<EventAdapter.EventViewHolder> {
 
-    private List<Event> events;
+    private static final ExecutorService DIFF_EXECUTOR = Executors.newSingleThreadExecutor();
 
-    public EventAdapter(List<Event> events) {
-        this.events = events;
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+    private EventSnapshot snapshot = EventSnapshot.EMPTY;
+    // Bumped on every update so that only the latest pending diff is applied
+    private int generation;
+
+    public EventAdapter() {
+        setHasStableIds(true);
     }
 
     @NonNull
@@ -31,18 +41,63 @@ public class EventAdapter extends RecyclerView.Adapter<EventAdapter.EventViewHol
 
     @Override
     public void onBindViewHolder(@NonNull EventViewHolder holder, int position) {
-        Event event = events.get(position);
-        holder.bind(event);
+        int page = snapshot.pageIndex(position);
+        holder.bind(snapshot.page(page), snapshot.row(position, page));
     }
 
     @Override
     public int getItemCount() {
-        return events != null ? events.size() : 0;
+        return snapshot.size();
+    }
+
+    @Override
+    public long getItemId(int position) {
+        return snapshot.stableId(position);
     }
 
-    public void updateEvents(List<Event> newEvents) {
-        this.events = newEvents;
-        notifyDataSetChanged();
+    /**
+     * Diff against the displayed snapshot on a background thread and
+     * dispatch only the changed rows
+     */
+    public void updateEvents(EventSnapshot next) {
+        int submitted = ++generation;
+        EventSnapshot previous = snapshot;
+
+        if (previous.size() == 0) {
+            snapshot = next;
+            notifyItemRangeInserted(0, next.size());
+            return;
+        }
+
+        DIFF_EXECUTOR.execute(() -> {
+            DiffUtil.DiffResult result = DiffUtil.calculateDiff(new DiffUtil.Callback() {
+                @Override
+                public int getOldListSize() {
+                    return previous.size();
+                }
+
+                @Override
+                public int getNewListSize() {
+                    return next.size();
+                }
+
+                @Override
+                public boolean areItemsTheSame(int oldPosition, int newPosition) {
+                    return previous.stableId(oldPosition) == next.stableId(newPosition);
+                }
+
+                @Override
+                public boolean areContentsTheSame(int oldPosition, int newPosition) {
+                    return previous.sameContents(oldPosition, next, newPosition);
+                }
+            }, false);
+
+            mainHandler.post(() -> {
+                if (submitted != generation) return;
+                snapshot = next;
+                result.dispatchUpdatesTo(EventAdapter.this);
+            });
+        });
     }
 
     static class EventViewHolder extends RecyclerView.ViewHolder {
@@ -55,9 +110,9 @@ public class EventAdapter extends RecyclerView.Adapter<EventAdapter.EventViewHol
             subtitleText = itemView.findViewById(android.R.id.text2);
         }
 
-        public void bind(Event event) {
-            titleText.setText(String.format("[%s] %s", event.getLevel(), event.getMessage()));
-            subtitleText.setText(event.getTimestamp());
+        public void bind(EventStore store, int row) {
+            titleText.setText(store.displayTitle(row));
+            subtitleText.setText(store.displayTimestamp(row));
         }
     }
 }
@@ -0,0 +1,54 @@
+package com.softsmith.maker;
+
+import java.util.List;
+
+/**
+ * Position of the newest event a client has seen for one project.
+ * Sent as since/after_id so the backend only returns newer rows.
+ *
+ * Events are ordered as the backend orders them: by timestamp to the
+ * microsecond, then by id. The cursor only ever moves forward.
+ */
+public class EventCursor {
+
+    private String timestamp;
+    private long timestampMicros;
+    private String eventId;
+
+    public boolean isEmpty() {
+        return timestamp == null;
+    }
+
+    public String getTimestamp() { return timestamp; }
+    public String getEventId() { return eventId; }
+
+    /**
+     * Whether the event lies strictly after the cursor
+     */
+    public boolean isBefore(Event event) {
+        if (isEmpty()) return true;
+        long micros = EventStore.parseIsoMicros(event.getTimestamp());
+        if (micros != timestampMicros) return micros > timestampMicros;
+        String id = event.getId();
+        return id != null && (eventId == null || id.compareTo(eventId) > 0);
+    }
+
+    /**
+     * Move to the event if it is newer; older events leave the cursor alone
+     */
+    public void advance(Event event) {
+        if (event == null || event.getTimestamp() == null || !isBefore(event)) return;
+        timestamp = event.getTimestamp();
+        timestampMicros = EventStore.parseIsoMicros(timestamp);
+        eventId = event.getId();
+    }
+
+    /**
+     * Advance past a newest-first page, as returned without a cursor
+     */
+    public void advanceToNewest(List<Event> newestFirst) {
+        if (!newestFirst.isEmpty()) {
+            advance(newestFirst.get(0));
+        }
+    }
+}
@@ -0,0 +1,341 @@
+package com.softsmith.maker;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+
+import okhttp3.ResponseBody;
+import retrofit2.Call;
+import retrofit2.Callback;
+import retrofit2.Response;
+
+/**
+ * Keyset-paged window over a project's event history, newest first.
+ * Pages are held as columnar EventStores and published to the adapter as
+ * an EventSnapshot.
+ *
+ * New events stream in at the head (top of the list) while the window
+ * includes the newest events; older pages load as the viewport nears the
+ * tail. At most MAX_PAGES pages are held, evicting whichever end is
+ * farthest from the viewport, so arbitrarily long histories are browsed
+ * in bounded memory. Pages fetched from the network are written through
+ * to the local copy, which fills in while the network is slow or down.
+ * All methods must be called on the main thread.
+ */
+public class EventPager {
+
+    public interface Listener {
+        void onEventsChanged(EventSnapshot events);
+        void onError(Throwable t);
+    }
+
+    // Largest page held; requests are smaller on metered or constrained networks
+    static final int PAGE_SIZE = 100;
+    static final int MAX_PAGES = 10;
+
+    private final String projectId;
+    private final Listener listener;
+    private final SyncEngine syncEngine;
+    private final CallTracker calls;
+
+    // Pages ordered newest to oldest; each page is newest first
+    private final ArrayDeque<EventStore> pages = new ArrayDeque<>();
+    private final EventStore.Dictionaries dictionaries = new EventStore.Dictionaries();
+    // Newest event seen for the project, whether or not it is in the window
+    private final EventCursor headCursor = new EventCursor();
+    // Stream events, oldest first, that arrived while the network head page
+    // was loading or nothing was shown; it may be older than they are
+    private final List<Event> preHead = new ArrayList<>();
+
+    private boolean atHead = true;
+    private boolean reachedOldest;
+    private boolean loadingNewer;
+    private boolean loadingOlder;
+    private boolean loadingHead;
+    private int firstVisible;
+    private IncrementalEventLoader headLoader;
+
+    public EventPager(String projectId, SyncEngine syncEngine, CallTracker calls,
+                      Listener listener) {
+        this.projectId = projectId;
+        this.syncEngine = syncEngine;
+        this.calls = calls;
+        this.listener = listener;
+    }
+
+    public EventCursor getHeadCursor() {
+        return headCursor;
+    }
+
+    /**
+     * Show the cached newest page, then stream it from the network,
+     * publishing rows batch by batch as they decode
+     */
+    public void loadInitial() {
+        cancel();
+
+        syncEngine.readNewestEvents(projectId, PAGE_SIZE, calls.bind(cached -> {
+            // The network head wins if it got here first
+            if (!pages.isEmpty() || cached == null || cached.isEmpty()) return;
+            pages.addFirst(EventStore.of(cached, dictionaries));
+            headCursor.advanceToNewest(cached);
+            prependPreHead(cached);
+            publish();
+        }));
+
+        loadingHead = true;
+        headLoader = new IncrementalEventLoader();
+        int limit = NetworkMonitor.getMode().pageSize(PAGE_SIZE);
+        Call<ResponseBody> head = ApiClient.getApiService().streamProjectEvents(projectId, limit);
+        headLoader.load(calls.track(head),
+                new IncrementalEventLoader.Listener() {
+            @Override
+            public void onBatch(List<Event> batch, boolean first) {
+                syncEngine.saveEvents(projectId, batch);
+                if (first) {
+                    pages.clear();
+                    pages.addFirst(EventStore.of(batch, dictionaries));
+                    atHead = true;
+                    reachedOldest = false;
+                    loadingHead = false;
+                    headCursor.advanceToNewest(batch);
+                    prependPreHead(batch);
+                    preHead.clear();
+                } else if (!pages.isEmpty()) {
+                    // Later batches are older rows: grow the tail page
+                    EventStore tail = pages.pollLast();
+                    pages.addLast(new EventStore.Builder(dictionaries, tail.size() + batch.size())
+                            .addAll(tail)
+                            .addAll(EventStore.of(batch, dictionaries))
+                            .build());
+                }
+                publish();
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                loadingHead = false;
+                listener.onError(t);
+            }
+        });
+    }
+
+    public void cancel() {
+        loadingHead = false;
+        if (headLoader != null) {
+            headLoader.cancel();
+            headLoader = null;
+        }
+    }
+
+    /**
+     * Add events newer than the head cursor, oldest first. Events at or
+     * before the cursor are already held and are dropped, so a delta and
+     * the stream may overlap. While the user is browsing older history
+     * new events are skipped here and fetched again on the way back up.
+     * Events that arrive before the network head page are also kept
+     * aside and laid over it once it is shown.
+     */
+    public void onNewEvents(List<Event> events) {
+        List<Event> oldestFirst = new ArrayList<>(events.size());
+        for (Event event : events) {
+            if (headCursor.isBefore(event)) {
+                oldestFirst.add(event);
+                headCursor.advance(event);
+            }
+        }
+        if (oldestFirst.isEmpty()) return;
+        syncEngine.saveEvents(projectId, oldestFirst);
+        if (loadingHead || pages.isEmpty()) {
+            preHead.addAll(oldestFirst);
+            if (preHead.size() > PAGE_SIZE) preHead.subList(0, preHead.size() - PAGE_SIZE).clear();
+        }
+        if (!atHead || pages.isEmpty()) return;
+        prepend(oldestFirst);
+        publish();
+    }
+
+    /**
+     * Lay the set-aside stream events newer than a freshly shown head page over it
+     */
+    private void prependPreHead(List<Event> newestFirst) {
+        EventCursor shown = new EventCursor();
+        shown.advanceToNewest(newestFirst);
+        List<Event> newer = new ArrayList<>();
+        for (Event event : preHead) {
+            if (shown.isBefore(event)) newer.add(event);
+        }
+        if (!newer.isEmpty()) prepend(newer);
+    }
+
+    /** Add events newer than the head page on top of it, oldest first */
+    private void prepend(List<Event> oldestFirst) {
+        EventStore.Builder builder = new EventStore.Builder(dictionaries,
+                oldestFirst.size() + pages.peekFirst().size());
+        for (int i = oldestFirst.size() - 1; i >= 0; i--) {
+            builder.add(oldestFirst.get(i));
+        }
+        EventStore head = builder.addAll(pages.pollFirst()).build();
+
+        if (head.size() > PAGE_SIZE) {
+            // Split the overflow off into a fresh head page
+            int overflow = head.size() - PAGE_SIZE;
+            pages.addFirst(head.slice(overflow, head.size()));
+            pages.addFirst(head.slice(0, overflow));
+            evict();
+        } else {
+            pages.addFirst(head);
+        }
+    }
+
+    /**
+     * Report the visible adapter positions after a scroll
+     */
+    public void onScrolled(int firstVisible, int lastVisible) {
+        if (pages.isEmpty() || firstVisible < 0) return;
+        this.firstVisible = firstVisible;
+
+        int prefetchDistance = NetworkMonitor.getMode().prefetchDistance(PAGE_SIZE);
+        if (lastVisible >= countEvents() - prefetchDistance) {
+            loadOlder();
+        }
+        if (firstVisible < prefetchDistance) {
+            loadNewer();
+        }
+    }
+
+    private void loadOlder() {
+        if (loadingOlder || reachedOldest) return;
+
+        EventStore tail = pages.peekLast();
+        if (tail == null || tail.size() == 0) return;
+
+        int oldest = tail.size() - 1;
+        int limit = NetworkMonitor.getMode().pageSize(PAGE_SIZE);
+        loadingOlder = true;
+        calls.enqueue(ApiClient.getApiService().getProjectEventsBefore(projectId,
+                tail.timestamp(oldest), tail.id(oldest), limit),
+                new Callback<List<Event>>() {
+            @Override
+            public void onResponse(Call<List<Event>> call, Response<List<Event>> response) {
+                loadingOlder = false;
+
+                if (!response.isSuccessful() || response.body() == null) {
+                    loadCachedOlder(tail, new IOException("HTTP " + response.code()));
+                    return;
+                }
+                syncEngine.saveEvents(projectId, response.body());
+                // Window moved while loading
+                if (tail != pages.peekLast()) return;
+
+                List<Event> page = response.body();
+                reachedOldest = page.size() < limit;
+                appendOlder(page);
+            }
+
+            @Override
+            public void onFailure(Call<List<Event>> call, Throwable t) {
+                loadingOlder = false;
+                // Dropped for more urgent calls; the next scroll asks again
+                if (t instanceof ConcurrencyLimiter.PreemptedException) return;
+                loadCachedOlder(tail, t);
+            }
+        });
+    }
+
+    /**
+     * Offline fallback: continue down the history from the local copy.
+     * reachedOldest stays unset so the network is tried again next scroll.
+     */
+    private void loadCachedOlder(EventStore tail, Throwable error) {
+        int oldest = tail.size() - 1;
+        loadingOlder = true;
+        syncEngine.readEventsBefore(projectId, tail.timestamp(oldest), tail.id(oldest), PAGE_SIZE,
+                calls.bind(cached -> {
+            loadingOlder = false;
+            if (cached == null || cached.isEmpty()) {
+                listener.onError(error);
+            } else if (tail == pages.peekLast()) {
+                appendOlder(cached);
+            }
+        }));
+    }
+
+    private void appendOlder(List<Event> newestFirst) {
+        if (newestFirst.isEmpty()) return;
+        pages.addLast(EventStore.of(newestFirst, dictionaries));
+        evict();
+        publish();
+    }
+
+    private void loadNewer() {
+        if (loadingNewer || atHead) return;
+
+        EventStore head = pages.peekFirst();
+        if (head == null || head.size() == 0) return;
+
+        int limit = NetworkMonitor.getMode().pageSize(PAGE_SIZE);
+        loadingNewer = true;
+        calls.enqueue(ApiClient.getApiService().getProjectEventsSince(projectId,
+                head.timestamp(0), head.id(0), limit),
+                new Callback<List<Event>>() {
+            @Override
+            public void onResponse(Call<List<Event>> call, Response<List<Event>> response) {
+                loadingNewer = false;
+
+                if (!response.isSuccessful() || response.body() == null) {
+                    listener.onError(new IOException("HTTP " + response.code()));
+                    return;
+                }
+                syncEngine.saveEvents(projectId, response.body());
+                if (head != pages.peekFirst()) return;
+
+                List<Event> oldestFirst = response.body();
+                atHead = oldestFirst.size() < limit;
+                if (!oldestFirst.isEmpty()) {
+                    EventStore.Builder page = new EventStore.Builder(dictionaries, oldestFirst.size());
+                    for (int i = oldestFirst.size() - 1; i >= 0; i--) {
+                        page.add(oldestFirst.get(i));
+                    }
+                    pages.addFirst(page.build());
+                    evict();
+                    publish();
+                }
+            }
+
+            @Override
+            public void onFailure(Call<List<Event>> call, Throwable t) {
+                loadingNewer = false;
+                listener.onError(t);
+            }
+        });
+    }
+
+    /**
+     * Drop pages from whichever end of the window is farther from the viewport
+     */
+    private void evict() {
+        while (pages.size() > MAX_PAGES) {
+            if (firstVisible < countEvents() / 2) {
+                pages.pollLast();
+                reachedOldest = false;
+            } else {
+                firstVisible = Math.max(0, firstVisible - pages.pollFirst().size());
+                atHead = false;
+            }
+        }
+    }
+
+    private void publish() {
+        listener.onEventsChanged(EventSnapshot.of(pages));
+    }
+
+    private int countEvents() {
+        int count = 0;
+        for (EventStore page : pages) {
+            count += page.size();
+        }
+        return count;
+    }
+}
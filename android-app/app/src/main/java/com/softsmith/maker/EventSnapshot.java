@@ -0,0 +1,64 @@
+package com.softsmith.maker;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+/**
+ * Immutable, adapter-facing view over a sequence of EventStore pages,
+ * addressed by flat list position
+ */
+public final class EventSnapshot {
+
+    static final EventSnapshot EMPTY = new EventSnapshot(new EventStore[0]);
+
+    private final EventStore[] pages;
+    // starts[i] is the position of the first row of pages[i]; last entry is the size
+    private final int[] starts;
+
+    private EventSnapshot(EventStore[] pages) {
+        this.pages = pages;
+        this.starts = new int[pages.length + 1];
+        for (int i = 0; i < pages.length; i++) {
+            starts[i + 1] = starts[i] + pages[i].size();
+        }
+    }
+
+    public static EventSnapshot of(Collection<EventStore> pages) {
+        return new EventSnapshot(pages.toArray(new EventStore[0]));
+    }
+
+    public int size() {
+        return starts[pages.length];
+    }
+
+    /**
+     * Index of the page holding a position
+     */
+    public int pageIndex(int position) {
+        int index = Arrays.binarySearch(starts, 0, pages.length, position);
+        if (index < 0) return -index - 2;
+        // Skip empty pages sharing the same start
+        while (index + 1 < pages.length && starts[index + 1] == position) index++;
+        return index;
+    }
+
+    public EventStore page(int pageIndex) {
+        return pages[pageIndex];
+    }
+
+    public int row(int position, int pageIndex) {
+        return position - starts[pageIndex];
+    }
+
+    public long stableId(int position) {
+        int page = pageIndex(position);
+        return pages[page].stableId(row(position, page));
+    }
+
+    public boolean sameContents(int position, EventSnapshot other, int otherPosition) {
+        int page = pageIndex(position);
+        int otherPage = other.pageIndex(otherPosition);
+        return pages[page].sameContents(row(position, page),
+                other.pages[otherPage], other.row(otherPosition, otherPage));
+    }
+}
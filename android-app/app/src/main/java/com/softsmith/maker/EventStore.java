@@ -0,0 +1,367 @@
+package com.softsmith.maker;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Immutable, column-oriented block of events, newest first.
+ *
+ * Instead of one Event object and five Strings per row, each field is a
+ * primitive column: UUID ids as two longs, timestamps as epoch
+ * microseconds, levels and sources as int ids into shared dictionaries,
+ * and messages as UTF-8 slices of one byte array. A row costs roughly 50
+ * bytes plus its UTF-8 message, against several hundred for an Event
+ * with its Strings. Display strings are decoded for the rows being bound
+ * and kept for the life of the store, so rebinding a row allocates
+ * nothing.
+ *
+ * Timestamps keep microseconds, not millis, so they round-trip exactly to
+ * the backend's since/before cursors.
+ */
+public final class EventStore {
+
+    /** Level and source dictionaries shared by all stores of one project */
+    public static final class Dictionaries {
+        final StringDictionary levels = new StringDictionary();
+        final StringDictionary sources = new StringDictionary();
+    }
+
+    static final long NO_TIMESTAMP = Long.MIN_VALUE;
+
+    private final Dictionaries dictionaries;
+    private final int size;
+    private final long[] idHigh;
+    private final long[] idLow;
+    // Ids that are not UUIDs, by row; null when every id parsed
+    private final Map<Integer, String> rawIds;
+    private final long[] timestamps;
+    private final int[] levels;
+    private final int[] sources;
+    private final int[] messageOffsets;
+    private final byte[] messages;
+    // Display strings of bound rows, allocated on first bind; main thread only
+    private String[] titles;
+    private String[] displayTimestamps;
+
+    private EventStore(Builder builder) {
+        dictionaries = builder.dictionaries;
+        size = builder.size;
+        idHigh = Arrays.copyOf(builder.idHigh, size);
+        idLow = Arrays.copyOf(builder.idLow, size);
+        rawIds = builder.rawIds != null ? new HashMap<>(builder.rawIds) : null;
+        timestamps = Arrays.copyOf(builder.timestamps, size);
+        levels = Arrays.copyOf(builder.levels, size);
+        sources = Arrays.copyOf(builder.sources, size);
+        messageOffsets = Arrays.copyOf(builder.messageOffsets, size + 1);
+        messages = Arrays.copyOf(builder.messages, builder.messageOffsets[size]);
+    }
+
+    public static EventStore of(List<Event> newestFirst, Dictionaries dictionaries) {
+        Builder builder = new Builder(dictionaries, newestFirst.size());
+        for (Event event : newestFirst) {
+            builder.add(event);
+        }
+        return builder.build();
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public long stableId(int row) {
+        if (rawIds != null && rawIds.containsKey(row)) {
+            return StableIds.of(rawIds.get(row));
+        }
+        return idHigh[row] ^ idLow[row];
+    }
+
+    public String id(int row) {
+        if (rawIds != null && rawIds.containsKey(row)) {
+            return rawIds.get(row);
+        }
+        return new UUID(idHigh[row], idLow[row]).toString();
+    }
+
+    public String timestamp(int row) {
+        return formatIsoMicros(timestamps[row]);
+    }
+
+    public String level(int row) {
+        return dictionaries.levels.get(levels[row]);
+    }
+
+    public String source(int row) {
+        return dictionaries.sources.get(sources[row]);
+    }
+
+    public String message(int row) {
+        int start = messageOffsets[row];
+        int end = messageOffsets[row + 1];
+        return new String(messages, start, end - start, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Title as shown in the list, formatted on first use and then reused
+     */
+    public String displayTitle(int row) {
+        if (titles == null) titles = new String[size];
+        String title = titles[row];
+        if (title == null) {
+            title = ModelFormatter.eventTitle(level(row), message(row));
+            titles[row] = title;
+        }
+        return title;
+    }
+
+    /**
+     * Timestamp as shown in the list, formatted on first use and then reused
+     */
+    public String displayTimestamp(int row) {
+        if (displayTimestamps == null) displayTimestamps = new String[size];
+        String timestamp = displayTimestamps[row];
+        if (timestamp == null) {
+            timestamp = timestamp(row);
+            displayTimestamps[row] = timestamp;
+        }
+        return timestamp;
+    }
+
+    /**
+     * Compare one row's contents against a row of another store without decoding it
+     */
+    public boolean sameContents(int row, EventStore other, int otherRow) {
+        if (other == this && otherRow == row) return true;
+        if (idHigh[row] != other.idHigh[otherRow]
+                || idLow[row] != other.idLow[otherRow]
+                || timestamps[row] != other.timestamps[otherRow]
+                || levels[row] != other.levels[otherRow]
+                || sources[row] != other.sources[otherRow]) {
+            return false;
+        }
+
+        int start = messageOffsets[row];
+        int length = messageOffsets[row + 1] - start;
+        int otherStart = other.messageOffsets[otherRow];
+        int otherLength = other.messageOffsets[otherRow + 1] - otherStart;
+        if (length != otherLength) return false;
+        for (int i = 0; i < length; i++) {
+            if (messages[start + i] != other.messages[otherStart + i]) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Copy rows [from, to) into a new store
+     */
+    public EventStore slice(int from, int to) {
+        Builder builder = new Builder(dictionaries, to - from);
+        builder.addRows(this, from, to);
+        return builder.build();
+    }
+
+    /**
+     * Appends rows, growing columns as needed, then freezes them into a store
+     */
+    public static final class Builder {
+        private final Dictionaries dictionaries;
+        private int size;
+        private long[] idHigh;
+        private long[] idLow;
+        private Map<Integer, String> rawIds;
+        private long[] timestamps;
+        private int[] levels;
+        private int[] sources;
+        private int[] messageOffsets;
+        private byte[] messages;
+
+        public Builder(Dictionaries dictionaries, int expectedRows) {
+            this.dictionaries = dictionaries;
+            int capacity = Math.max(expectedRows, 8);
+            idHigh = new long[capacity];
+            idLow = new long[capacity];
+            timestamps = new long[capacity];
+            levels = new int[capacity];
+            sources = new int[capacity];
+            messageOffsets = new int[capacity + 1];
+            messages = new byte[capacity * 64];
+        }
+
+        public Builder add(Event event) {
+            ensureCapacity(size + 1);
+
+            String id = event.getId();
+            try {
+                UUID uuid = UUID.fromString(id);
+                idHigh[size] = uuid.getMostSignificantBits();
+                idLow[size] = uuid.getLeastSignificantBits();
+            } catch (IllegalArgumentException | NullPointerException e) {
+                if (rawIds == null) rawIds = new HashMap<>();
+                rawIds.put(size, id);
+                idHigh[size] = 0;
+                idLow[size] = id != null ? id.hashCode() : 0;
+            }
+
+            timestamps[size] = parseIsoMicros(event.getTimestamp());
+            levels[size] = dictionaries.levels.intern(event.getLevel());
+            sources[size] = dictionaries.sources.intern(event.getSource());
+
+            String message = event.getMessage();
+            byte[] utf8 = message != null ? message.getBytes(StandardCharsets.UTF_8) : new byte[0];
+            appendMessage(utf8, 0, utf8.length);
+            size++;
+            return this;
+        }
+
+        public Builder addAll(EventStore store) {
+            return addRows(store, 0, store.size);
+        }
+
+        Builder addRows(EventStore store, int from, int to) {
+            ensureCapacity(size + to - from);
+            for (int row = from; row < to; row++) {
+                if (store.rawIds != null && store.rawIds.containsKey(row)) {
+                    if (rawIds == null) rawIds = new HashMap<>();
+                    rawIds.put(size, store.rawIds.get(row));
+                }
+                idHigh[size] = store.idHigh[row];
+                idLow[size] = store.idLow[row];
+                timestamps[size] = store.timestamps[row];
+                levels[size] = store.levels[row];
+                sources[size] = store.sources[row];
+
+                int start = store.messageOffsets[row];
+                appendMessage(store.messages, start, store.messageOffsets[row + 1] - start);
+                size++;
+            }
+            return this;
+        }
+
+        public EventStore build() {
+            return new EventStore(this);
+        }
+
+        private void appendMessage(byte[] source, int offset, int length) {
+            int start = messageOffsets[size];
+            if (start + length > messages.length) {
+                messages = Arrays.copyOf(messages, Math.max(messages.length * 2, start + length));
+            }
+            System.arraycopy(source, offset, messages, start, length);
+            messageOffsets[size + 1] = start + length;
+        }
+
+        private void ensureCapacity(int rows) {
+            if (rows <= idHigh.length) return;
+
+            int capacity = Math.max(rows, idHigh.length * 2);
+            idHigh = Arrays.copyOf(idHigh, capacity);
+            idLow = Arrays.copyOf(idLow, capacity);
+            timestamps = Arrays.copyOf(timestamps, capacity);
+            levels = Arrays.copyOf(levels, capacity);
+            sources = Arrays.copyOf(sources, capacity);
+            messageOffsets = Arrays.copyOf(messageOffsets, capacity + 1);
+        }
+    }
+
+    // ISO-8601 as emitted by the backend's datetime.isoformat() (naive UTC).
+    // java.time needs API 26, so the conversion is done by hand.
+
+    static long parseIsoMicros(String iso) {
+        if (iso == null || iso.length() < 19) return NO_TIMESTAMP;
+        try {
+            return parseValidIsoMicros(iso);
+        } catch (NumberFormatException e) {
+            return NO_TIMESTAMP;
+        }
+    }
+
+    private static long parseValidIsoMicros(String iso) {
+        int year = digits(iso, 0, 4);
+        int month = digits(iso, 5, 7);
+        int day = digits(iso, 8, 10);
+        int hour = digits(iso, 11, 13);
+        int minute = digits(iso, 14, 16);
+        int second = digits(iso, 17, 19);
+
+        long micros = 0;
+        if (iso.length() > 20 && iso.charAt(19) == '.') {
+            int count = 0;
+            for (int i = 20; i < iso.length() && Character.isDigit(iso.charAt(i)); i++) {
+                if (count < 6) {
+                    micros = micros * 10 + (iso.charAt(i) - '0');
+                    count++;
+                }
+            }
+            for (; count < 6; count++) {
+                micros *= 10;
+            }
+        }
+
+        long seconds = daysFromCivil(year, month, day) * 86400L
+                + hour * 3600L + minute * 60L + second;
+        return seconds * 1_000_000L + micros;
+    }
+
+    static String formatIsoMicros(long epochMicros) {
+        if (epochMicros == NO_TIMESTAMP) return null;
+
+        long seconds = Math.floorDiv(epochMicros, 1_000_000L);
+        int micros = (int) Math.floorMod(epochMicros, 1_000_000L);
+        long days = Math.floorDiv(seconds, 86400L);
+        int secondOfDay = (int) Math.floorMod(seconds, 86400L);
+
+        // Civil date from days since epoch (Howard Hinnant's algorithm)
+        long z = days + 719468;
+        long era = Math.floorDiv(z, 146097);
+        long dayOfEra = z - era * 146097;
+        long yearOfEra = (dayOfEra - dayOfEra / 1460 + dayOfEra / 36524 - dayOfEra / 146096) / 365;
+        long dayOfYear = dayOfEra - (365 * yearOfEra + yearOfEra / 4 - yearOfEra / 100);
+        long mp = (5 * dayOfYear + 2) / 153;
+        int day = (int) (dayOfYear - (153 * mp + 2) / 5 + 1);
+        int month = (int) (mp < 10 ? mp + 3 : mp - 9);
+        long year = yearOfEra + era * 400 + (month <= 2 ? 1 : 0);
+
+        StringBuilder sb = new StringBuilder(26);
+        pad(sb, year, 4).append('-');
+        pad(sb, month, 2).append('-');
+        pad(sb, day, 2).append('T');
+        pad(sb, secondOfDay / 3600, 2).append(':');
+        pad(sb, secondOfDay / 60 % 60, 2).append(':');
+        pad(sb, secondOfDay % 60, 2);
+        // isoformat() omits the fraction when it is zero
+        if (micros != 0) {
+            pad(sb.append('.'), micros, 6);
+        }
+        return sb.toString();
+    }
+
+    private static long daysFromCivil(int year, int month, int day) {
+        long y = month <= 2 ? year - 1 : year;
+        long era = Math.floorDiv(y, 400);
+        long yearOfEra = y - era * 400;
+        long dayOfYear = (153 * (month > 2 ? month - 3 : month + 9) + 2) / 5 + day - 1;
+        long dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+        return era * 146097 + dayOfEra - 719468;
+    }
+
+    private static int digits(String s, int start, int end) {
+        int value = 0;
+        for (int i = start; i < end; i++) {
+            char c = s.charAt(i);
+            if (c < '0' || c > '9') throw new NumberFormatException("Bad timestamp: " + s);
+            value = value * 10 + (c - '0');
+        }
+        return value;
+    }
+
+    private static StringBuilder pad(StringBuilder sb, long value, int width) {
+        String digits = Long.toString(value);
+        for (int i = digits.length(); i < width; i++) {
+            sb.append('0');
+        }
+        return sb.append(digits);
+    }
+}
@@ -0,0 +1,158 @@
+package com.softsmith.maker;
+
+import android.os.Handler;
+import android.os.Looper;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+
+import okhttp3.HttpUrl;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.WebSocket;
+import okhttp3.WebSocketListener;
+
+/**
+ * WebSocket client streaming live events for a single project.
+ * The stream resumes from the cursor passed to connect, so events logged
+ * while the socket was down are delivered once it is back.
+ * All listener callbacks are delivered on the main thread.
+ */
+public class EventStreamClient {
+
+    public interface Listener {
+        void onConnected();
+        void onEvent(Event event);
+        void onDisconnected();
+    }
+
+    private static final long PING_INTERVAL_MS = 15000;
+    private static final int NORMAL_CLOSURE = 1000;
+
+    private final String projectId;
+    private final Listener listener;
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+    private final Gson gson = ApiClient.getGson();
+
+    private WebSocket webSocket;
+    private boolean connected;
+    private boolean awaitingPong;
+
+    private final Runnable pingRunnable = new Runnable() {
+        @Override
+        public void run() {
+            if (webSocket == null) return;
+
+            // No pong since the last ping: the connection is dead
+            if (awaitingPong) {
+                handleDisconnect(webSocket);
+                return;
+            }
+
+            awaitingPong = true;
+            webSocket.send("ping");
+            mainHandler.postDelayed(this, PING_INTERVAL_MS);
+        }
+    };
+
+    public EventStreamClient(String projectId, Listener listener) {
+        this.projectId = projectId;
+        this.listener = listener;
+    }
+
+    /**
+     * Connect, streaming the events after the given cursor, or only those
+     * logged from now on when it is empty
+     */
+    public void connect(EventCursor from) {
+        if (webSocket != null) return;
+
+        HttpUrl.Builder url = ApiClient.getActiveBackend().getUrl().newBuilder()
+                .addPathSegment("projects")
+                .addPathSegment(projectId)
+                .addPathSegments("events/ws");
+        if (!from.isEmpty()) {
+            url.addQueryParameter("since", from.getTimestamp());
+            if (from.getEventId() != null) url.addQueryParameter("after_id", from.getEventId());
+        }
+        Request request = new Request.Builder()
+                .url(url.build())
+                .build();
+        webSocket = ApiClient.getHttpClient().newWebSocket(request, new SocketListener());
+    }
+
+    public void disconnect() {
+        mainHandler.removeCallbacks(pingRunnable);
+        if (webSocket != null) {
+            webSocket.close(NORMAL_CLOSURE, null);
+            webSocket = null;
+        }
+        connected = false;
+        awaitingPong = false;
+    }
+
+    public boolean isConnected() {
+        return connected;
+    }
+
+    private void handleMessage(WebSocket socket, String text) {
+        if (socket != webSocket) return;
+
+        JsonObject message;
+        try {
+            message = gson.fromJson(text, JsonObject.class);
+        } catch (JsonParseException e) {
+            return;
+        }
+        if (message == null || !message.has("type")) return;
+
+        switch (message.get("type").getAsString()) {
+            case "connected":
+                connected = true;
+                awaitingPong = false;
+                mainHandler.postDelayed(pingRunnable, PING_INTERVAL_MS);
+                listener.onConnected();
+                break;
+            case "pong":
+                awaitingPong = false;
+                break;
+            case "event":
+                if (message.has("event")) {
+                    listener.onEvent(gson.fromJson(message.get("event"), Event.class));
+                }
+                break;
+            default:
+                break;
+        }
+    }
+
+    private void handleDisconnect(WebSocket socket) {
+        if (socket != webSocket) return;
+
+        mainHandler.removeCallbacks(pingRunnable);
+        socket.cancel();
+        webSocket = null;
+        connected = false;
+        awaitingPong = false;
+        listener.onDisconnected();
+    }
+
+    private class SocketListener extends WebSocketListener {
+        @Override
+        public void onMessage(WebSocket socket, String text) {
+            mainHandler.post(() -> handleMessage(socket, text));
+        }
+
+        @Override
+        public void onClosing(WebSocket socket, int code, String reason) {
+            socket.close(NORMAL_CLOSURE, null);
+            mainHandler.post(() -> handleDisconnect(socket));
+        }
+
+        @Override
+        public void onFailure(WebSocket socket, Throwable t, Response response) {
+            mainHandler.post(() -> handleDisconnect(socket));
+        }
+    }
+}
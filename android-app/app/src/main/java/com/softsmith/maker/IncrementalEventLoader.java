@@ -0,0 +1,96 @@
+package com.softsmith.maker;
+
+import android.os.Handler;
+import android.os.Looper;
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import okhttp3.ResponseBody;
+import retrofit2.Call;
+import retrofit2.Response;
+
+/**
+ * Decodes a streamed JSON array of events one element at a time off the
+ * main thread and publishes them in small batches, so the first rows can
+ * be shown before the whole body has downloaded.
+ */
+public class IncrementalEventLoader {
+
+    public interface Listener {
+        /** Called on the main thread; {@code first} is true for the first batch only */
+        void onBatch(List<Event> batch, boolean first);
+        void onError(Throwable t);
+    }
+
+    private static final int BATCH_SIZE = 20;
+    private static final ExecutorService DECODE_EXECUTOR = Executors.newFixedThreadPool(2);
+    private static final TypeAdapter<Event> EVENT_ADAPTER = ApiClient.getGson().getAdapter(Event.class);
+
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+    private volatile boolean cancelled;
+    private Call<ResponseBody> call;
+
+    public void load(Call<ResponseBody> call, Listener listener) {
+        this.call = call;
+        DECODE_EXECUTOR.execute(() -> decode(call, listener));
+    }
+
+    public void cancel() {
+        cancelled = true;
+        if (call != null) {
+            call.cancel();
+        }
+    }
+
+    private void decode(Call<ResponseBody> call, Listener listener) {
+        try {
+            Response<ResponseBody> response = call.execute();
+            if (!response.isSuccessful() || response.body() == null) {
+                publishError(listener, new IOException("HTTP " + response.code()));
+                return;
+            }
+
+            try (ResponseBody body = response.body();
+                 JsonReader reader = new JsonReader(body.charStream())) {
+                reader.beginArray();
+
+                List<Event> batch = new ArrayList<>(BATCH_SIZE);
+                boolean first = true;
+                while (!cancelled && reader.hasNext()) {
+                    batch.add(EVENT_ADAPTER.read(reader));
+                    if (batch.size() == BATCH_SIZE) {
+                        publishBatch(listener, batch, first);
+                        batch = new ArrayList<>(BATCH_SIZE);
+                        first = false;
+                    }
+                }
+
+                // Always deliver a first batch, even when the list is empty
+                if (!batch.isEmpty() || first) {
+                    publishBatch(listener, batch, first);
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            publishError(listener, e);
+        }
+    }
+
+    private void publishBatch(Listener listener, List<Event> batch, boolean first) {
+        mainHandler.post(() -> {
+            if (!cancelled) listener.onBatch(batch, first);
+        });
+    }
+
+    private void publishError(Listener listener, Throwable t) {
+        mainHandler.post(() -> {
+            if (!cancelled) listener.onError(t);
+        });
+    }
+}
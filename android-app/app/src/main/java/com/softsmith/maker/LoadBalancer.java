@@ -0,0 +1,249 @@
+package com.softsmith.maker;
+
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.NoRouteToHostException;
+import java.net.UnknownHostException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import okhttp3.HttpUrl;
+import okhttp3.Interceptor;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+
+/**
+ * Client-side load balancing and failover across replicas of the
+ * backends registered in ApiClient.
+ *
+ * Every call aimed at a registered backend is routed to the node of that
+ * backend's replica group with the best score: an EWMA of its latency,
+ * scaled up by its EWMA error rate and by the calls it already has in
+ * flight. Nodes failing their /health or /system/readiness probes are
+ * only used when nothing else is left. GETs that fail or get a 5xx are
+ * retried on the next node, and so is any call that could not connect,
+ * so a dead node costs a short connect timeout rather than the full 30
+ * seconds. Calls never leave their group, so selecting a backend still
+ * decides which data the app sees; for a backend without replicas the
+ * interceptor steps aside.
+ */
+public final class LoadBalancer {
+
+    static final double ALPHA = 0.3;
+    static final double INITIAL_LATENCY_MS = 100;
+    static final double ERROR_PENALTY = 10;
+    static final long PROBE_INTERVAL_MS = 10_000;
+    static final int FAILOVER_CONNECT_TIMEOUT_MS = 3_000;
+    static final int PROBE_TIMEOUT_MS = 5_000;
+
+    /** Per-node routing state */
+    public static final class NodeStats {
+        private double latencyMs = INITIAL_LATENCY_MS;
+        private double errorRate;
+        private volatile boolean healthy = true;
+        final AtomicInteger inFlight = new AtomicInteger();
+
+        synchronized void record(double elapsedMs, boolean error) {
+            latencyMs += ALPHA * (elapsedMs - latencyMs);
+            errorRate += ALPHA * ((error ? 1 : 0) - errorRate);
+        }
+
+        public synchronized double getLatencyMs() { return latencyMs; }
+        public synchronized double getErrorRate() { return errorRate; }
+        public boolean isHealthy() { return healthy; }
+        public int getInFlight() { return inFlight.get(); }
+
+        synchronized double score() {
+            return latencyMs * (1 + inFlight.get()) * (1 + ERROR_PENALTY * errorRate);
+        }
+    }
+
+    private enum Probe { INSTANCE }
+
+    private static final Map<String, NodeStats> nodes = new ConcurrentHashMap<>();
+    private static ScheduledExecutorService prober;
+
+    public static final Interceptor INTERCEPTOR = new Interceptor() {
+        @Override
+        public Response intercept(Chain chain) throws IOException {
+            return route(chain, ApiClient.getBackends());
+        }
+    };
+
+    /**
+     * Send the call to the best replica of the backend it is aimed at
+     */
+    static Response route(Interceptor.Chain chain, Collection<ApiClient.Backend> backends)
+            throws IOException {
+        Request request = chain.request();
+        if (request.tag(Probe.class) != null || backends.size() < 2) return chain.proceed(request);
+
+        ApiClient.Backend origin = match(request.url(), backends);
+        if (origin == null) return chain.proceed(request);
+
+        List<ApiClient.Backend> replicas = replicasOf(origin, backends);
+        if (replicas.size() < 2) return chain.proceed(request);
+
+        List<ApiClient.Backend> candidates = rank(replicas);
+        boolean idempotent = "GET".equals(request.method());
+        for (int i = 0; ; i++) {
+            ApiClient.Backend node = candidates.get(i);
+            boolean last = i == candidates.size() - 1;
+            Request routed = request.newBuilder()
+                    .url(rebase(request.url(), origin.getUrl(), node.getUrl()))
+                    .build();
+
+            NodeStats stats = getStats(node.getName());
+            stats.inFlight.incrementAndGet();
+            long start = System.nanoTime();
+            try {
+                Interceptor.Chain attempt = last ? chain
+                        : chain.withConnectTimeout(FAILOVER_CONNECT_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+                Response response = attempt.proceed(routed);
+                boolean serverError = response.code() >= 500;
+                stats.record(elapsedMs(start), serverError);
+                if (!serverError || !idempotent || last) return response;
+                response.close();
+            } catch (IOException e) {
+                stats.record(elapsedMs(start), true);
+                if (last || chain.call().isCanceled() || !(idempotent || notSent(e))) throw e;
+            } finally {
+                stats.inFlight.decrementAndGet();
+            }
+        }
+    }
+
+    /**
+     * Start probing the backends' health and readiness in the background
+     */
+    public static synchronized void start() {
+        if (prober != null) return;
+        prober = Executors.newSingleThreadScheduledExecutor();
+        prober.scheduleWithFixedDelay(LoadBalancer::probeAll, 0, PROBE_INTERVAL_MS,
+                TimeUnit.MILLISECONDS);
+    }
+
+    public static synchronized void stop() {
+        if (prober != null) {
+            prober.shutdownNow();
+            prober = null;
+        }
+    }
+
+    public static NodeStats getStats(String backendName) {
+        return nodes.computeIfAbsent(backendName, name -> new NodeStats());
+    }
+
+    private static void probeAll() {
+        probeReplicas(ApiClient.getBackends(), ApiClient.getHttpClient());
+    }
+
+    /**
+     * Probe every backend that has replicas to fail over to
+     */
+    static void probeReplicas(Collection<ApiClient.Backend> backends, OkHttpClient httpClient) {
+        OkHttpClient client = httpClient.newBuilder()
+                .callTimeout(PROBE_TIMEOUT_MS, TimeUnit.MILLISECONDS)
+                .build();
+        for (ApiClient.Backend backend : backends) {
+            if (replicasOf(backend, backends).size() < 2) continue;
+
+            NodeStats stats = getStats(backend.getName());
+            long start = System.nanoTime();
+            boolean ok = probe(client, backend.getUrl().resolve("health"))
+                    && probe(client, backend.getUrl().resolve("system/readiness"));
+            stats.record(elapsedMs(start) / 2, !ok);
+            stats.healthy = ok;
+        }
+    }
+
+    private static boolean probe(OkHttpClient client, HttpUrl url) {
+        Request request = new Request.Builder()
+                .url(url)
+                .header("Cache-Control", "no-store")
+                .tag(Probe.class, Probe.INSTANCE)
+                .build();
+        try (Response response = client.newCall(request).execute()) {
+            return response.isSuccessful();
+        } catch (IOException | RuntimeException e) {
+            return false;
+        }
+    }
+
+    /** The registered backend the url points into, or null */
+    static ApiClient.Backend match(HttpUrl url, Collection<ApiClient.Backend> backends) {
+        for (ApiClient.Backend backend : backends) {
+            HttpUrl base = backend.getUrl();
+            if (base.scheme().equals(url.scheme())
+                    && base.host().equals(url.host())
+                    && base.port() == url.port()
+                    && url.encodedPath().startsWith(base.encodedPath())) {
+                return backend;
+            }
+        }
+        return null;
+    }
+
+    private static List<ApiClient.Backend> replicasOf(ApiClient.Backend origin,
+                                                     Collection<ApiClient.Backend> backends) {
+        List<ApiClient.Backend> replicas = new ArrayList<>();
+        for (ApiClient.Backend backend : backends) {
+            if (backend.getReplicaGroup().equals(origin.getReplicaGroup())) replicas.add(backend);
+        }
+        return replicas;
+    }
+
+    /**
+     * Healthy nodes by score, then the rest by score as a last resort
+     */
+    private static List<ApiClient.Backend> rank(Collection<ApiClient.Backend> backends) {
+        // Snapshot first so the ordering stays consistent while stats move
+        List<ApiClient.Backend> ranked = new ArrayList<>(backends);
+        Map<String, Double> scores = new HashMap<>();
+        Map<String, Boolean> healthy = new HashMap<>();
+        for (ApiClient.Backend backend : ranked) {
+            NodeStats stats = getStats(backend.getName());
+            scores.put(backend.getName(), stats.score());
+            healthy.put(backend.getName(), stats.isHealthy());
+        }
+        ranked.sort((a, b) -> {
+            boolean healthyA = healthy.get(a.getName());
+            if (healthyA != healthy.get(b.getName())) return healthyA ? -1 : 1;
+            return Double.compare(scores.get(a.getName()), scores.get(b.getName()));
+        });
+        return ranked;
+    }
+
+    private static HttpUrl rebase(HttpUrl url, HttpUrl from, HttpUrl to) {
+        if (from.equals(to)) return url;
+        String rest = url.encodedPath().substring(from.encodedPath().length());
+        return url.newBuilder()
+                .scheme(to.scheme())
+                .host(to.host())
+                .port(to.port())
+                .encodedPath(to.encodedPath() + rest)
+                .build();
+    }
+
+    /** Failures where the request never reached the server, so any method may be retried */
+    private static boolean notSent(IOException e) {
+        return e instanceof ConnectException
+                || e instanceof UnknownHostException
+                || e instanceof NoRouteToHostException;
+    }
+
+    private static double elapsedMs(long startNanos) {
+        return (System.nanoTime() - startNanos) / 1_000_000.0;
+    }
+
+    private LoadBalancer() {}
+}
@@ -0,0 +1,253 @@
+package com.softsmith.maker;
+
+import android.content.ContentValues;
+import android.content.Context;
+import android.database.Cursor;
+import android.database.sqlite.SQLiteDatabase;
+import android.database.sqlite.SQLiteOpenHelper;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * On-device SQLite copy of projects, stats and events, so screens can
+ * render before (or without) the network. Calls block on disk I/O and
+ * must run off the main thread; see SyncEngine.
+ *
+ * Only the newest MAX_EVENTS_PER_PROJECT events of each project are
+ * kept; older history is paged from the server.
+ */
+public class LocalDatabase extends SQLiteOpenHelper {
+
+    private static final String DATABASE_NAME = "softsmith.db";
+    private static final int DATABASE_VERSION = 1;
+    // Twice what EventPager holds in its window
+    static final int MAX_EVENTS_PER_PROJECT = EventPager.PAGE_SIZE * EventPager.MAX_PAGES * 2;
+
+    private static LocalDatabase instance;
+
+    public static synchronized LocalDatabase get(Context context) {
+        if (instance == null) {
+            instance = new LocalDatabase(context.getApplicationContext());
+        }
+        return instance;
+    }
+
+    private LocalDatabase(Context context) {
+        super(context, DATABASE_NAME, null, DATABASE_VERSION);
+    }
+
+    @Override
+    public void onCreate(SQLiteDatabase db) {
+        db.execSQL("CREATE TABLE projects ("
+                + "id TEXT PRIMARY KEY, name TEXT, description TEXT, status TEXT, "
+                + "created_at TEXT, updated_at TEXT, total_tasks INTEGER, completed_tasks INTEGER)");
+        db.execSQL("CREATE INDEX idx_projects_created ON projects (created_at DESC)");
+
+        db.execSQL("CREATE TABLE project_stats ("
+                + "project_id TEXT PRIMARY KEY, total_tasks INTEGER, pending_tasks INTEGER, "
+                + "running_tasks INTEGER, completed_tasks INTEGER, failed_tasks INTEGER, "
+                + "progress_percentage REAL)");
+
+        db.execSQL("CREATE TABLE events ("
+                + "id TEXT PRIMARY KEY, project_id TEXT NOT NULL, timestamp TEXT, "
+                + "level TEXT, message TEXT, source TEXT)");
+        db.execSQL("CREATE INDEX idx_events_project_time ON events (project_id, timestamp, id)");
+
+        db.execSQL("CREATE TABLE sync_state (key TEXT PRIMARY KEY, value TEXT)");
+    }
+
+    @Override
+    public void onUpgrade(SQLiteDatabase db, int oldVersion, int newVersion) {
+        // Cache only: rebuild from the server
+        db.execSQL("DROP TABLE IF EXISTS projects");
+        db.execSQL("DROP TABLE IF EXISTS project_stats");
+        db.execSQL("DROP TABLE IF EXISTS events");
+        db.execSQL("DROP TABLE IF EXISTS sync_state");
+        onCreate(db);
+    }
+
+    // Projects
+
+    public void upsertProjects(List<Project> projects) {
+        SQLiteDatabase db = getWritableDatabase();
+        db.beginTransaction();
+        try {
+            ContentValues values = new ContentValues();
+            for (Project project : projects) {
+                values.clear();
+                values.put("id", project.getId());
+                values.put("name", project.getName());
+                values.put("description", project.getDescription());
+                values.put("status", project.getStatus());
+                values.put("created_at", project.getCreatedAt());
+                values.put("updated_at", project.getUpdatedAt());
+                values.put("total_tasks", project.getTotalTasks());
+                values.put("completed_tasks", project.getCompletedTasks());
+                db.insertWithOnConflict("projects", null, values, SQLiteDatabase.CONFLICT_REPLACE);
+            }
+            db.setTransactionSuccessful();
+        } finally {
+            db.endTransaction();
+        }
+    }
+
+    /**
+     * Same ordering as GET /projects: newest first
+     */
+    public List<Project> getProjects(int limit, int offset) {
+        return queryProjects(
+                "SELECT * FROM projects ORDER BY created_at DESC LIMIT ? OFFSET ?",
+                String.valueOf(limit), String.valueOf(offset));
+    }
+
+    public Project getProject(String projectId) {
+        List<Project> projects = queryProjects(
+                "SELECT * FROM projects WHERE id = ?", projectId);
+        return projects.isEmpty() ? null : projects.get(0);
+    }
+
+    public void deleteProject(String projectId) {
+        SQLiteDatabase db = getWritableDatabase();
+        db.beginTransaction();
+        try {
+            db.delete("projects", "id = ?", new String[]{projectId});
+            db.delete("project_stats", "project_id = ?", new String[]{projectId});
+            db.delete("events", "project_id = ?", new String[]{projectId});
+            db.setTransactionSuccessful();
+        } finally {
+            db.endTransaction();
+        }
+    }
+
+    private List<Project> queryProjects(String sql, String... args) {
+        List<Project> projects = new ArrayList<>();
+        try (Cursor cursor = getReadableDatabase().rawQuery(sql, args)) {
+            while (cursor.moveToNext()) {
+                Project project = new Project();
+                project.setId(cursor.getString(cursor.getColumnIndexOrThrow("id")));
+                project.setName(cursor.getString(cursor.getColumnIndexOrThrow("name")));
+                project.setDescription(cursor.getString(cursor.getColumnIndexOrThrow("description")));
+                project.setStatus(cursor.getString(cursor.getColumnIndexOrThrow("status")));
+                project.setCreatedAt(cursor.getString(cursor.getColumnIndexOrThrow("created_at")));
+                project.setUpdatedAt(cursor.getString(cursor.getColumnIndexOrThrow("updated_at")));
+                project.setTotalTasks(cursor.getInt(cursor.getColumnIndexOrThrow("total_tasks")));
+                project.setCompletedTasks(cursor.getInt(cursor.getColumnIndexOrThrow("completed_tasks")));
+                projects.add(project);
+            }
+        }
+        return projects;
+    }
+
+    // Stats
+
+    public void upsertStats(String projectId, ProjectStats stats) {
+        ContentValues values = new ContentValues();
+        values.put("project_id", projectId);
+        values.put("total_tasks", stats.getTotalTasks());
+        values.put("pending_tasks", stats.getPendingTasks());
+        values.put("running_tasks", stats.getRunningTasks());
+        values.put("completed_tasks", stats.getCompletedTasks());
+        values.put("failed_tasks", stats.getFailedTasks());
+        values.put("progress_percentage", stats.getProgressPercentage());
+        getWritableDatabase().insertWithOnConflict("project_stats", null, values,
+                SQLiteDatabase.CONFLICT_REPLACE);
+    }
+
+    public ProjectStats getStats(String projectId) {
+        try (Cursor cursor = getReadableDatabase().rawQuery(
+                "SELECT * FROM project_stats WHERE project_id = ?", new String[]{projectId})) {
+            if (!cursor.moveToFirst()) return null;
+
+            ProjectStats stats = new ProjectStats();
+            stats.setTotalTasks(cursor.getInt(cursor.getColumnIndexOrThrow("total_tasks")));
+            stats.setPendingTasks(cursor.getInt(cursor.getColumnIndexOrThrow("pending_tasks")));
+            stats.setRunningTasks(cursor.getInt(cursor.getColumnIndexOrThrow("running_tasks")));
+            stats.setCompletedTasks(cursor.getInt(cursor.getColumnIndexOrThrow("completed_tasks")));
+            stats.setFailedTasks(cursor.getInt(cursor.getColumnIndexOrThrow("failed_tasks")));
+            stats.setProgressPercentage(cursor.getFloat(cursor.getColumnIndexOrThrow("progress_percentage")));
+            return stats;
+        }
+    }
+
+    // Events. Timestamps are the backend's ISO strings, which sort correctly as text.
+
+    /**
+     * Store events, then drop the project's oldest beyond MAX_EVENTS_PER_PROJECT
+     */
+    public void insertEvents(String projectId, List<Event> events) {
+        SQLiteDatabase db = getWritableDatabase();
+        db.beginTransaction();
+        try {
+            ContentValues values = new ContentValues();
+            for (Event event : events) {
+                values.clear();
+                values.put("id", event.getId());
+                values.put("project_id", projectId);
+                values.put("timestamp", event.getTimestamp());
+                values.put("level", event.getLevel());
+                values.put("message", event.getMessage());
+                values.put("source", event.getSource());
+                db.insertWithOnConflict("events", null, values, SQLiteDatabase.CONFLICT_REPLACE);
+            }
+            db.execSQL("DELETE FROM events WHERE id IN (SELECT id FROM events WHERE project_id = ? "
+                            + "ORDER BY timestamp DESC, id DESC LIMIT -1 OFFSET ?)",
+                    new Object[]{projectId, MAX_EVENTS_PER_PROJECT});
+            db.setTransactionSuccessful();
+        } finally {
+            db.endTransaction();
+        }
+    }
+
+    /**
+     * Newest events, newest first
+     */
+    public List<Event> getNewestEvents(String projectId, int limit) {
+        return queryEvents("SELECT * FROM events WHERE project_id = ? "
+                        + "ORDER BY timestamp DESC, id DESC LIMIT ?",
+                projectId, String.valueOf(limit));
+    }
+
+    /**
+     * Events older than the given event, newest first
+     */
+    public List<Event> getEventsBefore(String projectId, String timestamp, String eventId, int limit) {
+        return queryEvents("SELECT * FROM events WHERE project_id = ? "
+                        + "AND (timestamp < ? OR (timestamp = ? AND id < ?)) "
+                        + "ORDER BY timestamp DESC, id DESC LIMIT ?",
+                projectId, timestamp, timestamp, eventId, String.valueOf(limit));
+    }
+
+    private List<Event> queryEvents(String sql, String... args) {
+        List<Event> events = new ArrayList<>();
+        try (Cursor cursor = getReadableDatabase().rawQuery(sql, args)) {
+            while (cursor.moveToNext()) {
+                Event event = new Event();
+                event.setId(cursor.getString(cursor.getColumnIndexOrThrow("id")));
+                event.setTimestamp(cursor.getString(cursor.getColumnIndexOrThrow("timestamp")));
+                event.setLevel(cursor.getString(cursor.getColumnIndexOrThrow("level")));
+                event.setMessage(cursor.getString(cursor.getColumnIndexOrThrow("message")));
+                event.setSource(cursor.getString(cursor.getColumnIndexOrThrow("source")));
+                events.add(event);
+            }
+        }
+        return events;
+    }
+
+    // Sync state
+
+    public String getSyncValue(String key) {
+        try (Cursor cursor = getReadableDatabase().rawQuery(
+                "SELECT value FROM sync_state WHERE key = ?", new String[]{key})) {
+            return cursor.moveToFirst() ? cursor.getString(0) : null;
+        }
+    }
+
+    public void putSyncValue(String key, String value) {
+        ContentValues values = new ContentValues();
+        values.put("key", key);
+        values.put("value", value);
+        getWritableDatabase().insertWithOnConflict("sync_state", null, values,
+                SQLiteDatabase.CONFLICT_REPLACE);
+    }
+}
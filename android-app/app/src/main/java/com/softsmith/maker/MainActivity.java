@@ -2,12 +2,15 @@ package com.softsmith.maker;
 
 import android.content.Intent;
 import android.os.Bundle;
+import android.view.Menu;
+import android.view.MenuItem;
 import android.view.View;
 import android.widget.Button;
 import android.widget.EditText;
 import android.widget.ProgressBar;
 import android.widget.Toast;
 
+import androidx.annotation.NonNull;
 import androidx.appcompat.app.AppCompatActivity;
 import androidx.recyclerview.widget.LinearLayoutManager;
 import androidx.recyclerview.widget.RecyclerView;
@@ -29,6 +32,8 @@ public class MainActivity extends AppCompatActivity {
     private ProgressBar progressBar;
     private EditText promptInput;
     private Button createButton;
+    private ProjectPager projectPager;
+    private final CallTracker calls = new CallTracker(this);
 
     @Override
     protected void onCreate(Bundle savedInstanceState) {
@@ -37,7 +42,6 @@ public class MainActivity extends AppCompatActivity {
 
         initViews();
         setupRecyclerView();
-        loadProjects();
     }
 
     private void initViews() {
@@ -57,33 +61,57 @@ public class MainActivity extends AppCompatActivity {
             startActivity(intent);
         });
 
-        recyclerView.setLayoutManager(new LinearLayoutManager(this));
+        LinearLayoutManager layoutManager = new LinearLayoutManager(this);
+        recyclerView.setLayoutManager(layoutManager);
         recyclerView.setAdapter(adapter);
-    }
-
-    private void loadProjects() {
-        progressBar.setVisibility(View.VISIBLE);
 
-        ApiClient.getApiService().getProjects(50, 0).enqueue(new Callback<List<Project>>() {
+        projectPager = new ProjectPager(ProjectRepository.get(this), SyncEngine.get(this), calls,
+                new ProjectPager.Listener() {
             @Override
-            public void onResponse(Call<List<Project>> call, Response<List<Project>> response) {
+            public void onProjectsChanged(List<Project> projects) {
                 progressBar.setVisibility(View.GONE);
-
-                if (response.isSuccessful() && response.body() != null) {
-                    adapter.updateProjects(response.body());
-                } else {
-                    Toast.makeText(MainActivity.this,
-                        "Failed to load projects", Toast.LENGTH_SHORT).show();
-                }
+                adapter.updateProjects(projects);
             }
 
             @Override
-            public void onFailure(Call<List<Project>> call, Throwable t) {
+            public void onError(Throwable t) {
                 progressBar.setVisibility(View.GONE);
                 Toast.makeText(MainActivity.this,
                     "Error: " + t.getMessage(), Toast.LENGTH_SHORT).show();
             }
         });
+
+        // Load neighbouring pages as the user nears either end of the list
+        recyclerView.addOnScrollListener(new RecyclerView.OnScrollListener() {
+            @Override
+            public void onScrolled(@NonNull RecyclerView view, int dx, int dy) {
+                projectPager.onScrolled(layoutManager.findFirstVisibleItemPosition(),
+                        layoutManager.findLastVisibleItemPosition());
+            }
+        });
+    }
+
+    @Override
+    public boolean onCreateOptionsMenu(Menu menu) {
+        getMenuInflater().inflate(R.menu.main_menu, menu);
+        return true;
+    }
+
+    @Override
+    public boolean onOptionsItemSelected(MenuItem item) {
+        if (item.getItemId() == R.id.action_diagnostics) {
+            startActivity(new Intent(this, DiagnosticsActivity.class));
+            return true;
+        }
+        return super.onOptionsItemSelected(item);
+    }
+
+    private void loadProjects() {
+        if (projectPager.isEmpty()) {
+            progressBar.setVisibility(View.VISIBLE);
+        }
+        projectPager.refresh();
+        SyncEngine.get(this).syncProjects();
     }
 
     private void createProject() {
@@ -100,7 +128,7 @@ public class MainActivity extends AppCompatActivity {
 
         CreateProjectRequest request = new CreateProjectRequest(prompt, null, "android-user");
 
-        ApiClient.getApiService().createProject(request).enqueue(new Callback<Project>() {
+        calls.enqueue(ApiClient.getApiService().createProject(request), new Callback<Project>() {
             @Override
             public void onResponse(Call<Project> call, Response<Project> response) {
                 progressBar.setVisibility(View.GONE);
@@ -110,6 +138,7 @@ public class MainActivity extends AppCompatActivity {
                     promptInput.setText("");
                     Toast.makeText(MainActivity.this,
                         "Project created!", Toast.LENGTH_SHORT).show();
+                    ProjectRepository.get(MainActivity.this).invalidateProjects();
                     loadProjects();  // Refresh list
                 } else {
                     Toast.makeText(MainActivity.this,
@@ -0,0 +1,17 @@
+package com.softsmith.maker;
+
+import android.app.Application;
+
+/**
+ * Application entry point, sets up process-wide API state
+ */
+public class MakerApplication extends Application {
+
+    @Override
+    public void onCreate() {
+        super.onCreate();
+        ApiClient.init(this);
+        NetworkMonitor.init(this);
+        LoadBalancer.start();
+    }
+}
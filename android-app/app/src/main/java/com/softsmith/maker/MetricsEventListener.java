@@ -0,0 +1,130 @@
+package com.softsmith.maker;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Proxy;
+import java.util.List;
+
+import okhttp3.Call;
+import okhttp3.EventListener;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.Response;
+
+/**
+ * Times the phases of each OkHttp call into NetworkMetrics.
+ * One instance is created per call, so no state is shared between calls.
+ */
+public class MetricsEventListener extends EventListener {
+
+    public static final EventListener.Factory FACTORY =
+            call -> new MetricsEventListener(NetworkMetrics.keyOf(call.request()));
+
+    private final NetworkMetrics.Endpoint endpoint;
+
+    private long callStart;
+    private long dnsStart;
+    private long connectStart;
+    private long requestStart;
+    private long requestEnd;
+    private long bodyStart;
+
+    MetricsEventListener(String endpointKey) {
+        this.endpoint = NetworkMetrics.endpoint(endpointKey);
+    }
+
+    @Override
+    public void callStart(Call call) {
+        callStart = System.nanoTime();
+        endpoint.calls.incrementAndGet();
+        NetworkMetrics.setInFlight(call.request(), true);
+    }
+
+    @Override
+    public void dnsStart(Call call, String domainName) {
+        dnsStart = System.nanoTime();
+    }
+
+    @Override
+    public void dnsEnd(Call call, String domainName, List<InetAddress> addresses) {
+        record(NetworkMetrics.Phase.DNS, dnsStart);
+    }
+
+    @Override
+    public void connectStart(Call call, InetSocketAddress address, Proxy proxy) {
+        connectStart = System.nanoTime();
+    }
+
+    @Override
+    public void connectEnd(Call call, InetSocketAddress address, Proxy proxy, Protocol protocol) {
+        record(NetworkMetrics.Phase.CONNECT, connectStart);
+    }
+
+    @Override
+    public void connectFailed(Call call, InetSocketAddress address, Proxy proxy,
+                              Protocol protocol, IOException e) {
+        record(NetworkMetrics.Phase.CONNECT, connectStart);
+    }
+
+    @Override
+    public void requestHeadersStart(Call call) {
+        requestStart = System.nanoTime();
+    }
+
+    @Override
+    public void requestHeadersEnd(Call call, Request request) {
+        requestEnd = System.nanoTime();
+        endpoint.bytesSent.addAndGet(request.headers().byteCount());
+        if (request.body() == null) {
+            record(NetworkMetrics.Phase.REQUEST, requestStart);
+        }
+    }
+
+    @Override
+    public void requestBodyEnd(Call call, long byteCount) {
+        requestEnd = System.nanoTime();
+        endpoint.bytesSent.addAndGet(byteCount);
+        record(NetworkMetrics.Phase.REQUEST, requestStart);
+    }
+
+    @Override
+    public void responseHeadersStart(Call call) {
+        if (requestEnd != 0) {
+            record(NetworkMetrics.Phase.TTFB, requestEnd);
+        }
+    }
+
+    @Override
+    public void responseHeadersEnd(Call call, Response response) {
+        endpoint.bytesReceived.addAndGet(response.headers().byteCount());
+    }
+
+    @Override
+    public void responseBodyStart(Call call) {
+        bodyStart = System.nanoTime();
+    }
+
+    @Override
+    public void responseBodyEnd(Call call, long byteCount) {
+        endpoint.bytesReceived.addAndGet(byteCount);
+        record(NetworkMetrics.Phase.BODY, bodyStart);
+    }
+
+    @Override
+    public void callEnd(Call call) {
+        NetworkMetrics.setInFlight(call.request(), false);
+        record(NetworkMetrics.Phase.TOTAL, callStart);
+    }
+
+    @Override
+    public void callFailed(Call call, IOException e) {
+        NetworkMetrics.setInFlight(call.request(), false);
+        endpoint.failures.incrementAndGet();
+        record(NetworkMetrics.Phase.TOTAL, callStart);
+    }
+
+    private void record(NetworkMetrics.Phase phase, long start) {
+        endpoint.get(phase).recordNanos(System.nanoTime() - start);
+    }
+}
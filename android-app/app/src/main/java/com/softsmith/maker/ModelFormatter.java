@@ -0,0 +1,45 @@
+package com.softsmith.maker;
+
+/**
+ * Display strings for list rows and the detail header.
+ * Kept free of Android classes so the formatting hot paths can be
+ * exercised on a plain JVM.
+ */
+final class ModelFormatter {
+
+    private ModelFormatter() {}
+
+    /** "Status: <status> | Progress: <n>%" */
+    static String projectSubtitle(Project project) {
+        return new StringBuilder(40)
+                .append("Status: ").append(project.getStatus())
+                .append(" | Progress: ").append(project.getProgressPercentage()).append('%')
+                .toString();
+    }
+
+    /** "Progress: <done> / <total> tasks (<n>%)" */
+    static String projectProgress(Project project) {
+        return new StringBuilder(40)
+                .append("Progress: ").append(project.getCompletedTasks())
+                .append(" / ").append(project.getTotalTasks())
+                .append(" tasks (").append(project.getProgressPercentage()).append("%)")
+                .toString();
+    }
+
+    /** "Tasks: <n> running, <n> pending, <n> failed" */
+    static String projectTasks(ProjectStats stats) {
+        return new StringBuilder(48)
+                .append("Tasks: ").append(stats.getRunningTasks()).append(" running, ")
+                .append(stats.getPendingTasks()).append(" pending, ")
+                .append(stats.getFailedTasks()).append(" failed")
+                .toString();
+    }
+
+    /** "[<level>] <message>" */
+    static String eventTitle(String level, String message) {
+        return new StringBuilder(16 + (message != null ? message.length() : 4))
+                .append('[').append(level).append("] ")
+                .append(message)
+                .toString();
+    }
+}
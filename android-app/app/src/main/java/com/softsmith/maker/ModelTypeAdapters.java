@@ -0,0 +1,221 @@
+package com.softsmith.maker;
+
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.TypeAdapterFactory;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+
+/**
+ * Reflection-free Gson adapters for the API models.
+ * Field names mirror the @SerializedName annotations on each model;
+ * keep both in sync when a model changes.
+ */
+public final class ModelTypeAdapters implements TypeAdapterFactory {
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public <T> TypeAdapter<T> create(Gson gson, TypeToken<T> type) {
+        Class<? super T> rawType = type.getRawType();
+        if (rawType == Project.class) return (TypeAdapter<T>) PROJECT;
+        if (rawType == Event.class) return (TypeAdapter<T>) EVENT;
+        if (rawType == ProjectStats.class) return (TypeAdapter<T>) PROJECT_STATS;
+        if (rawType == ApiResponse.class) return (TypeAdapter<T>) API_RESPONSE;
+        if (rawType == CreateProjectRequest.class) return (TypeAdapter<T>) CREATE_PROJECT_REQUEST;
+        return null;
+    }
+
+    static final TypeAdapter<Project> PROJECT = new TypeAdapter<Project>() {
+        @Override
+        public void write(JsonWriter out, Project project) throws IOException {
+            out.beginObject();
+            out.name("id").value(project.getId());
+            out.name("name").value(project.getName());
+            out.name("description").value(project.getDescription());
+            out.name("status").value(project.getStatus());
+            out.name("created_at").value(project.getCreatedAt());
+            out.name("updated_at").value(project.getUpdatedAt());
+            out.name("total_tasks").value(project.getTotalTasks());
+            out.name("completed_tasks").value(project.getCompletedTasks());
+            out.endObject();
+        }
+
+        @Override
+        public Project read(JsonReader in) throws IOException {
+            Project project = new Project();
+            in.beginObject();
+            while (in.hasNext()) {
+                switch (in.nextName()) {
+                    case "id": project.setId(readString(in)); break;
+                    case "name": project.setName(readString(in)); break;
+                    case "description": project.setDescription(readString(in)); break;
+                    case "status": project.setStatus(readString(in)); break;
+                    case "created_at": project.setCreatedAt(readString(in)); break;
+                    case "updated_at": project.setUpdatedAt(readString(in)); break;
+                    case "total_tasks": project.setTotalTasks(readInt(in)); break;
+                    case "completed_tasks": project.setCompletedTasks(readInt(in)); break;
+                    default: in.skipValue(); break;
+                }
+            }
+            in.endObject();
+            return project;
+        }
+    }.nullSafe();
+
+    static final TypeAdapter<Event> EVENT = new TypeAdapter<Event>() {
+        @Override
+        public void write(JsonWriter out, Event event) throws IOException {
+            out.beginObject();
+            out.name("id").value(event.getId());
+            out.name("timestamp").value(event.getTimestamp());
+            out.name("level").value(event.getLevel());
+            out.name("message").value(event.getMessage());
+            out.name("source").value(event.getSource());
+            out.endObject();
+        }
+
+        @Override
+        public Event read(JsonReader in) throws IOException {
+            Event event = new Event();
+            in.beginObject();
+            while (in.hasNext()) {
+                switch (in.nextName()) {
+                    case "id": event.setId(readString(in)); break;
+                    case "timestamp": event.setTimestamp(readString(in)); break;
+                    case "level": event.setLevel(readString(in)); break;
+                    case "message": event.setMessage(readString(in)); break;
+                    case "source": event.setSource(readString(in)); break;
+                    default: in.skipValue(); break;
+                }
+            }
+            in.endObject();
+            return event;
+        }
+    }.nullSafe();
+
+    static final TypeAdapter<ProjectStats> PROJECT_STATS = new TypeAdapter<ProjectStats>() {
+        @Override
+        public void write(JsonWriter out, ProjectStats stats) throws IOException {
+            out.beginObject();
+            out.name("total_tasks").value(stats.getTotalTasks());
+            out.name("pending_tasks").value(stats.getPendingTasks());
+            out.name("running_tasks").value(stats.getRunningTasks());
+            out.name("completed_tasks").value(stats.getCompletedTasks());
+            out.name("failed_tasks").value(stats.getFailedTasks());
+            out.name("progress_percentage").value(stats.getProgressPercentage());
+            out.endObject();
+        }
+
+        @Override
+        public ProjectStats read(JsonReader in) throws IOException {
+            ProjectStats stats = new ProjectStats();
+            in.beginObject();
+            while (in.hasNext()) {
+                switch (in.nextName()) {
+                    case "total_tasks": stats.setTotalTasks(readInt(in)); break;
+                    case "pending_tasks": stats.setPendingTasks(readInt(in)); break;
+                    case "running_tasks": stats.setRunningTasks(readInt(in)); break;
+                    case "completed_tasks": stats.setCompletedTasks(readInt(in)); break;
+                    case "failed_tasks": stats.setFailedTasks(readInt(in)); break;
+                    case "progress_percentage": stats.setProgressPercentage(readFloat(in)); break;
+                    default: in.skipValue(); break;
+                }
+            }
+            in.endObject();
+            return stats;
+        }
+    }.nullSafe();
+
+    static final TypeAdapter<ApiResponse> API_RESPONSE = new TypeAdapter<ApiResponse>() {
+        @Override
+        public void write(JsonWriter out, ApiResponse response) throws IOException {
+            out.beginObject();
+            out.name("message").value(response.getMessage());
+            out.name("success").value(response.isSuccess());
+            out.endObject();
+        }
+
+        @Override
+        public ApiResponse read(JsonReader in) throws IOException {
+            ApiResponse response = new ApiResponse();
+            in.beginObject();
+            while (in.hasNext()) {
+                switch (in.nextName()) {
+                    case "message": response.setMessage(readString(in)); break;
+                    case "success": response.setSuccess(readBoolean(in)); break;
+                    default: in.skipValue(); break;
+                }
+            }
+            in.endObject();
+            return response;
+        }
+    }.nullSafe();
+
+    static final TypeAdapter<CreateProjectRequest> CREATE_PROJECT_REQUEST =
+            new TypeAdapter<CreateProjectRequest>() {
+        @Override
+        public void write(JsonWriter out, CreateProjectRequest request) throws IOException {
+            out.beginObject();
+            out.name("prompt").value(request.getPrompt());
+            out.name("name").value(request.getName());
+            out.name("user_id").value(request.getUserId());
+            out.endObject();
+        }
+
+        @Override
+        public CreateProjectRequest read(JsonReader in) throws IOException {
+            String prompt = null;
+            String name = null;
+            String userId = null;
+            in.beginObject();
+            while (in.hasNext()) {
+                switch (in.nextName()) {
+                    case "prompt": prompt = readString(in); break;
+                    case "name": name = readString(in); break;
+                    case "user_id": userId = readString(in); break;
+                    default: in.skipValue(); break;
+                }
+            }
+            in.endObject();
+            return new CreateProjectRequest(prompt, name, userId);
+        }
+    }.nullSafe();
+
+    // JSON nulls leave primitives at their defaults, as reflective Gson does
+
+    private static String readString(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        return in.nextString();
+    }
+
+    private static int readInt(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return 0;
+        }
+        return in.nextInt();
+    }
+
+    private static float readFloat(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return 0f;
+        }
+        return (float) in.nextDouble();
+    }
+
+    private static boolean readBoolean(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return false;
+        }
+        return in.nextBoolean();
+    }
+}
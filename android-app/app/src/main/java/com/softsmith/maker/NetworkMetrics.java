@@ -0,0 +1,138 @@
+package com.softsmith.maker;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+
+import java.lang.annotation.Annotation;
+import java.util.Collections;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import okhttp3.Request;
+import retrofit2.Invocation;
+import retrofit2.http.DELETE;
+import retrofit2.http.GET;
+import retrofit2.http.PATCH;
+import retrofit2.http.POST;
+import retrofit2.http.PUT;
+
+/**
+ * Per-endpoint timing and byte counts for ApiService calls.
+ *
+ * Endpoints are keyed by HTTP method and path template, e.g.
+ * "GET projects/{id}/events", so the number of entries is bounded by the
+ * ApiService interface. Phases are filled in by MetricsEventListener,
+ * TimingConverterFactory for JSON decoding and ConcurrencyLimiter for
+ * time spent waiting for a slot.
+ */
+public final class NetworkMetrics {
+
+    public enum Phase { QUEUE, DNS, CONNECT, REQUEST, TTFB, BODY, DECODE, TOTAL }
+
+    static final String OTHER = "other";
+
+    private static final double[] PERCENTILES = {50, 95, 99};
+
+    private static final Map<String, Endpoint> endpoints = new ConcurrentHashMap<>();
+    // Weak, so a call whose end is never reported does not pin its request
+    private static final Set<Request> inFlight =
+            Collections.synchronizedSet(Collections.newSetFromMap(new WeakHashMap<>()));
+
+    public static final class Endpoint {
+        private final LatencyHistogram[] phases = new LatencyHistogram[Phase.values().length];
+        final AtomicLong calls = new AtomicLong();
+        final AtomicLong failures = new AtomicLong();
+        final AtomicLong bytesSent = new AtomicLong();
+        final AtomicLong bytesReceived = new AtomicLong();
+
+        Endpoint() {
+            for (int i = 0; i < phases.length; i++) {
+                phases[i] = new LatencyHistogram();
+            }
+        }
+
+        public LatencyHistogram get(Phase phase) {
+            return phases[phase.ordinal()];
+        }
+    }
+
+    public static Endpoint endpoint(String key) {
+        return endpoints.computeIfAbsent(key, k -> new Endpoint());
+    }
+
+    /** Snapshot of all endpoints seen so far, sorted by key */
+    public static Map<String, Endpoint> getEndpoints() {
+        return new TreeMap<>(endpoints);
+    }
+
+    /** Whether the call for this request has started and not yet ended or failed */
+    static boolean isInFlight(Request request) {
+        return inFlight.contains(request);
+    }
+
+    static void setInFlight(Request request, boolean started) {
+        if (started) {
+            inFlight.add(request);
+        } else {
+            inFlight.remove(request);
+        }
+    }
+
+    static String keyOf(Request request) {
+        Invocation invocation = request.tag(Invocation.class);
+        return invocation != null ? keyOf(invocation.method().getAnnotations()) : OTHER;
+    }
+
+    static String keyOf(Annotation[] annotations) {
+        for (Annotation annotation : annotations) {
+            if (annotation instanceof GET) return "GET " + ((GET) annotation).value();
+            if (annotation instanceof POST) return "POST " + ((POST) annotation).value();
+            if (annotation instanceof PUT) return "PUT " + ((PUT) annotation).value();
+            if (annotation instanceof PATCH) return "PATCH " + ((PATCH) annotation).value();
+            if (annotation instanceof DELETE) return "DELETE " + ((DELETE) annotation).value();
+        }
+        return OTHER;
+    }
+
+    /**
+     * All endpoints with p50/p95/p99 per phase in milliseconds
+     */
+    public static JsonObject toJson() {
+        JsonObject root = new JsonObject();
+        JsonArray list = new JsonArray();
+        for (Map.Entry<String, Endpoint> entry : getEndpoints().entrySet()) {
+            Endpoint endpoint = entry.getValue();
+            JsonObject item = new JsonObject();
+            item.addProperty("endpoint", entry.getKey());
+            item.addProperty("calls", endpoint.calls.get());
+            item.addProperty("failures", endpoint.failures.get());
+            item.addProperty("bytes_sent", endpoint.bytesSent.get());
+            item.addProperty("bytes_received", endpoint.bytesReceived.get());
+
+            JsonObject phases = new JsonObject();
+            for (Phase phase : Phase.values()) {
+                LatencyHistogram histogram = endpoint.get(phase);
+                if (histogram.getCount() == 0) continue;
+
+                JsonObject stats = new JsonObject();
+                stats.addProperty("count", histogram.getCount());
+                for (double percentile : PERCENTILES) {
+                    stats.addProperty("p" + (int) percentile + "_ms",
+                            histogram.percentileMicros(percentile) / 1000.0);
+                }
+                phases.add(phase.name().toLowerCase(Locale.US), stats);
+            }
+            item.add("phases", phases);
+            list.add(item);
+        }
+        root.add("endpoints", list);
+        return root;
+    }
+
+    private NetworkMetrics() {}
+}
@@ -0,0 +1,151 @@
+package com.softsmith.maker;
+
+import android.content.Context;
+import android.net.ConnectivityManager;
+import android.net.Network;
+import android.net.NetworkCapabilities;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicLong;
+
+import okhttp3.HttpUrl;
+import okhttp3.Interceptor;
+import okhttp3.Request;
+import okhttp3.Response;
+
+/**
+ * Tracks the default network and picks a sync Mode to match it.
+ *
+ * Pagers, the poll scheduler and the sync engine consult getMode() when
+ * sizing requests, so switching networks takes effect on the next request.
+ * On metered or constrained networks the interceptor also asks the
+ * backend to leave event `details` out of responses.
+ */
+public final class NetworkMonitor {
+
+    public enum Mode {
+        // pollMultiplier, pageFraction, prefetchFraction, includeDetails
+        UNMETERED(1, 1f, 1f, true),
+        METERED(2, 0.5f, 0.3f, false),
+        CONSTRAINED(4, 0.25f, 0.1f, false),
+        OFFLINE(8, 0.25f, 0f, false);
+
+        /** Poll intervals are stretched by this factor */
+        public final int pollMultiplier;
+        private final float pageFraction;
+        private final float prefetchFraction;
+        public final boolean includeDetails;
+
+        Mode(int pollMultiplier, float pageFraction, float prefetchFraction, boolean includeDetails) {
+            this.pollMultiplier = pollMultiplier;
+            this.pageFraction = pageFraction;
+            this.prefetchFraction = prefetchFraction;
+            this.includeDetails = includeDetails;
+        }
+
+        /** Rows to request for a keyset page of at most maxPageSize */
+        public int pageSize(int maxPageSize) {
+            return Math.max(1, Math.round(maxPageSize * pageFraction));
+        }
+
+        /** How close to an edge of the loaded window the next page is fetched */
+        public int prefetchDistance(int pageSize) {
+            return Math.round(pageSize * prefetchFraction);
+        }
+    }
+
+    // Below this the link is treated as constrained, e.g. 2G/3G
+    private static final int CONSTRAINED_DOWNSTREAM_KBPS = 1500;
+
+    private static volatile Mode mode = Mode.UNMETERED;
+    private static final AtomicLong savedBytes = new AtomicLong();
+    private static final AtomicLong trimmedResponses = new AtomicLong();
+    private static ConnectivityManager connectivityManager;
+
+    /**
+     * Adds include_details=false to event requests when the mode calls
+     * for it, and tallies the bytes the backend reports leaving out
+     */
+    public static final Interceptor INTERCEPTOR = new Interceptor() {
+        @Override
+        public Response intercept(Chain chain) throws IOException {
+            Request request = chain.request();
+            HttpUrl url = request.url();
+            boolean trim = !mode.includeDetails
+                    && "GET".equals(request.method())
+                    && url.encodedPath().endsWith("/events")
+                    && url.queryParameter("include_details") == null;
+            if (trim) {
+                request = request.newBuilder()
+                        .url(url.newBuilder().addQueryParameter("include_details", "false").build())
+                        .build();
+            }
+
+            Response response = chain.proceed(request);
+            String omitted = response.header("X-Omitted-Bytes");
+            Response network = response.networkResponse();
+            // Count only fresh bodies, not 304 revalidations of stored ones
+            if (trim && omitted != null && network != null && network.code() == 200) {
+                try {
+                    savedBytes.addAndGet(Long.parseLong(omitted));
+                    trimmedResponses.incrementAndGet();
+                } catch (NumberFormatException e) {
+                    // Ignore a malformed header
+                }
+            }
+            return response;
+        }
+    };
+
+    public static void init(Context context) {
+        connectivityManager = context.getSystemService(ConnectivityManager.class);
+        if (connectivityManager == null) return;
+
+        Network active = connectivityManager.getActiveNetwork();
+        mode = classify(active != null ? connectivityManager.getNetworkCapabilities(active) : null);
+
+        connectivityManager.registerDefaultNetworkCallback(new ConnectivityManager.NetworkCallback() {
+            @Override
+            public void onCapabilitiesChanged(Network network, NetworkCapabilities capabilities) {
+                mode = classify(capabilities);
+            }
+
+            @Override
+            public void onLost(Network network) {
+                mode = Mode.OFFLINE;
+            }
+        });
+    }
+
+    public static Mode getMode() {
+        return mode;
+    }
+
+    /** Response bytes avoided by leaving out event details */
+    public static long getSavedBytes() {
+        return savedBytes.get();
+    }
+
+    public static long getTrimmedResponses() {
+        return trimmedResponses.get();
+    }
+
+    private static Mode classify(NetworkCapabilities capabilities) {
+        if (capabilities == null
+                || !capabilities.hasCapability(NetworkCapabilities.NET_CAPABILITY_INTERNET)) {
+            return Mode.OFFLINE;
+        }
+
+        boolean metered = !capabilities.hasCapability(NetworkCapabilities.NET_CAPABILITY_NOT_METERED);
+        // Data Saver only restricts metered networks
+        boolean dataSaver = metered && connectivityManager.getRestrictBackgroundStatus()
+                == ConnectivityManager.RESTRICT_BACKGROUND_STATUS_ENABLED;
+        int downstreamKbps = capabilities.getLinkDownstreamBandwidthKbps();
+        if (dataSaver || (downstreamKbps > 0 && downstreamKbps < CONSTRAINED_DOWNSTREAM_KBPS)) {
+            return Mode.CONSTRAINED;
+        }
+        return metered ? Mode.METERED : Mode.UNMETERED;
+    }
+
+    private NetworkMonitor() {}
+}
@@ -0,0 +1,131 @@
+package com.softsmith.maker;
+
+import android.os.Handler;
+import android.os.Looper;
+
+import java.util.Random;
+
+/**
+ * Runs a polling task with adaptive, lifecycle-aware timing.
+ *
+ * Polling only happens while it is enabled, the host is resumed and the
+ * polled resource has not reached a terminal state. Each round that
+ * brings nothing new (no notifyChanged() since the previous round)
+ * doubles the interval up to MAX_INTERVAL_MS; new data snaps it back to
+ * BASE_INTERVAL_MS. Intervals are stretched on metered and constrained
+ * networks, rounds are skipped while offline, and everything is jittered
+ * so that many idle clients do not poll in lockstep.
+ * All methods must be called on the main thread.
+ */
+public class PollScheduler {
+
+    static final long BASE_INTERVAL_MS = 5000;
+    static final long MAX_INTERVAL_MS = 120_000;
+    static final double JITTER = 0.2;
+
+    private final Handler handler = new Handler(Looper.getMainLooper());
+    private final Random random = new Random();
+    private final Runnable task;
+
+    private boolean enabled;
+    private boolean resumed;
+    private boolean terminal;
+    private boolean scheduled;
+    private boolean changedSinceLastPoll;
+    private long intervalMs = BASE_INTERVAL_MS;
+
+    private final Runnable tick = new Runnable() {
+        @Override
+        public void run() {
+            scheduled = false;
+            if (!shouldPoll()) return;
+
+            if (changedSinceLastPoll) {
+                intervalMs = BASE_INTERVAL_MS;
+            } else {
+                intervalMs = Math.min(intervalMs * 2, MAX_INTERVAL_MS);
+            }
+            changedSinceLastPoll = false;
+
+            if (NetworkMonitor.getMode() != NetworkMonitor.Mode.OFFLINE) {
+                task.run();
+            }
+            schedule();
+        }
+    };
+
+    public PollScheduler(Runnable task) {
+        this.task = task;
+    }
+
+    /** Start polling, e.g. while push updates are unavailable */
+    public void enable() {
+        if (enabled) return;
+        enabled = true;
+        intervalMs = BASE_INTERVAL_MS;
+        schedule();
+    }
+
+    public void disable() {
+        enabled = false;
+        cancel();
+    }
+
+    public void onResume() {
+        resumed = true;
+        schedule();
+    }
+
+    public void onPause() {
+        resumed = false;
+        cancel();
+    }
+
+    /** Stop for good once the resource can no longer change, or start again if it can */
+    public void setTerminal(boolean terminal) {
+        if (this.terminal == terminal) return;
+        this.terminal = terminal;
+        if (terminal) {
+            cancel();
+        } else {
+            intervalMs = BASE_INTERVAL_MS;
+            schedule();
+        }
+    }
+
+    /** Report that the last poll (or a push) brought new data */
+    public void notifyChanged() {
+        changedSinceLastPoll = true;
+        if (intervalMs > BASE_INTERVAL_MS && scheduled) {
+            // Things are moving again: come back now, not after the long backoff
+            cancel();
+            intervalMs = BASE_INTERVAL_MS;
+            schedule();
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public long getIntervalMs() {
+        return intervalMs;
+    }
+
+    private boolean shouldPoll() {
+        return enabled && resumed && !terminal;
+    }
+
+    private void schedule() {
+        if (scheduled || !shouldPoll()) return;
+        scheduled = true;
+        double jitter = 1 + JITTER * (2 * random.nextDouble() - 1);
+        long delayMs = intervalMs * NetworkMonitor.getMode().pollMultiplier;
+        handler.postDelayed(tick, (long) (delayMs * jitter));
+    }
+
+    private void cancel() {
+        handler.removeCallbacks(tick);
+        scheduled = false;
+    }
+}
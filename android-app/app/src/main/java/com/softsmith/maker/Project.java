@@ -2,6 +2,8 @@ package com.softsmith.maker;
 
 import com.google.gson.annotations.SerializedName;
 
+import java.util.Objects;
+
 /**
  * Project data model
  */
@@ -22,18 +24,25 @@ public class Project {
     @SerializedName("created_at")
     private String createdAt;
 
+    @SerializedName("updated_at")
+    private String updatedAt;
+
     @SerializedName("total_tasks")
     private int totalTasks;
 
     @SerializedName("completed_tasks")
     private int completedTasks;
 
+    // Display caches, rebuilt lazily after the fields they depend on change
+    private transient String displaySubtitle;
+    private transient long stableId;
+
     // Constructors
     public Project() {}
 
     // Getters and Setters
     public String getId() { return id; }
-    public void setId(String id) { this.id = id; }
+    public void setId(String id) { this.id = id; this.stableId = 0; }
 
     public String getName() { return name; }
     public void setName(String name) { this.name = name; }
@@ -42,19 +51,64 @@ public class Project {
     public void setDescription(String description) { this.description = description; }
 
     public String getStatus() { return status; }
-    public void setStatus(String status) { this.status = status; }
+    public void setStatus(String status) { this.status = status; this.displaySubtitle = null; }
 
     public String getCreatedAt() { return createdAt; }
     public void setCreatedAt(String createdAt) { this.createdAt = createdAt; }
 
+    public String getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(String updatedAt) { this.updatedAt = updatedAt; }
+
     public int getTotalTasks() { return totalTasks; }
-    public void setTotalTasks(int totalTasks) { this.totalTasks = totalTasks; }
+    public void setTotalTasks(int totalTasks) { this.totalTasks = totalTasks; this.displaySubtitle = null; }
 
     public int getCompletedTasks() { return completedTasks; }
-    public void setCompletedTasks(int completedTasks) { this.completedTasks = completedTasks; }
+    public void setCompletedTasks(int completedTasks) { this.completedTasks = completedTasks; this.displaySubtitle = null; }
 
     public int getProgressPercentage() {
         if (totalTasks == 0) return 0;
         return (completedTasks * 100) / totalTasks;
     }
+
+    /**
+     * Whether the project has stopped changing: built, deployed or failed
+     */
+    public boolean isTerminal() {
+        return "ready".equals(status) || "deployed".equals(status) || "failed".equals(status);
+    }
+
+    String getDisplaySubtitle() {
+        if (displaySubtitle == null) {
+            displaySubtitle = ModelFormatter.projectSubtitle(this);
+        }
+        return displaySubtitle;
+    }
+
+    long getStableId() {
+        if (stableId == 0) {
+            stableId = StableIds.of(id);
+        }
+        return stableId;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof Project)) return false;
+        Project other = (Project) o;
+        return totalTasks == other.totalTasks
+                && completedTasks == other.completedTasks
+                && Objects.equals(id, other.id)
+                && Objects.equals(name, other.name)
+                && Objects.equals(description, other.description)
+                && Objects.equals(status, other.status)
+                && Objects.equals(createdAt, other.createdAt)
+                && Objects.equals(updatedAt, other.updatedAt);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id, name, description, status, createdAt, updatedAt,
+                totalTasks, completedTasks);
+    }
 }
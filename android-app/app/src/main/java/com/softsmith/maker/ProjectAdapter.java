@@ -6,6 +6,8 @@ import android.view.ViewGroup;
 import android.widget.TextView;
 
 import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.AsyncListDiffer;
+import androidx.recyclerview.widget.DiffUtil;
 import androidx.recyclerview.widget.RecyclerView;
 
 import java.util.List;
@@ -15,7 +17,21 @@ import java.util.List;
  */
 public class ProjectAdapter extends RecyclerView.Adapter<ProjectAdapter.ProjectViewHolder> {
 
-    private List<Project> projects;
+    private static final DiffUtil.ItemCallback<Project> DIFF_CALLBACK =
+            new DiffUtil.ItemCallback<Project>() {
+        @Override
+        public boolean areItemsTheSame(@NonNull Project oldItem, @NonNull Project newItem) {
+            return oldItem.getId() != null && oldItem.getId().equals(newItem.getId());
+        }
+
+        @Override
+        public boolean areContentsTheSame(@NonNull Project oldItem, @NonNull Project newItem) {
+            return oldItem.equals(newItem);
+        }
+    };
+
+    // Diffs are computed on a background thread; only changed rows are rebound
+    private final AsyncListDiffer<Project> differ = new AsyncListDiffer<>(this, DIFF_CALLBACK);
     private final OnProjectClickListener listener;
 
     public interface OnProjectClickListener {
@@ -23,8 +39,9 @@ public class ProjectAdapter extends RecyclerView.Adapter<ProjectAdapter.ProjectV
     }
 
     public ProjectAdapter(List<Project> projects, OnProjectClickListener listener) {
-        this.projects = projects;
         this.listener = listener;
+        setHasStableIds(true);
+        differ.submitList(projects);
     }
 
     @NonNull
@@ -32,41 +49,49 @@ public class ProjectAdapter extends RecyclerView.Adapter<ProjectAdapter.ProjectV
     public ProjectViewHolder onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
         View view = LayoutInflater.from(parent.getContext())
                 .inflate(android.R.layout.simple_list_item_2, parent, false);
-        return new ProjectViewHolder(view);
+        return new ProjectViewHolder(view, listener);
     }
 
     @Override
     public void onBindViewHolder(@NonNull ProjectViewHolder holder, int position) {
-        Project project = projects.get(position);
-        holder.bind(project, listener);
+        Project project = differ.getCurrentList().get(position);
+        holder.bind(project);
     }
 
     @Override
     public int getItemCount() {
-        return projects != null ? projects.size() : 0;
+        return differ.getCurrentList().size();
+    }
+
+    @Override
+    public long getItemId(int position) {
+        return differ.getCurrentList().get(position).getStableId();
     }
 
     public void updateProjects(List<Project> newProjects) {
-        this.projects = newProjects;
-        notifyDataSetChanged();
+        differ.submitList(newProjects);
     }
 
     static class ProjectViewHolder extends RecyclerView.ViewHolder {
         private final TextView titleText;
         private final TextView subtitleText;
+        private Project boundProject;
 
-        public ProjectViewHolder(@NonNull View itemView) {
+        public ProjectViewHolder(@NonNull View itemView, OnProjectClickListener listener) {
             super(itemView);
             titleText = itemView.findViewById(android.R.id.text1);
             subtitleText = itemView.findViewById(android.R.id.text2);
+
+            // One listener per holder; it reads whichever project is bound
+            itemView.setOnClickListener(v -> {
+                if (boundProject != null) listener.onProjectClick(boundProject);
+            });
         }
 
-        public void bind(Project project, OnProjectClickListener listener) {
+        public void bind(Project project) {
+            boundProject = project;
             titleText.setText(project.getName());
-            subtitleText.setText(String.format("Status: %s | Progress: %d%%",
-                    project.getStatus(), project.getProgressPercentage()));
-
-            itemView.setOnClickListener(v -> listener.onProjectClick(project));
+            subtitleText.setText(project.getDisplaySubtitle());
         }
     }
 }
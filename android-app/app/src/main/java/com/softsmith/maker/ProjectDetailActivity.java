@@ -7,15 +7,17 @@ import android.widget.ProgressBar;
 import android.widget.TextView;
 import android.widget.Toast;
 
+import androidx.annotation.NonNull;
 import androidx.appcompat.app.AppCompatActivity;
 import androidx.recyclerview.widget.LinearLayoutManager;
 import androidx.recyclerview.widget.RecyclerView;
 
-import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 import retrofit2.Call;
 import retrofit2.Callback;
+import retrofit2.HttpException;
 import retrofit2.Response;
 
 /**
@@ -26,6 +28,7 @@ public class ProjectDetailActivity extends AppCompatActivity {
     private TextView projectNameText;
     private TextView statusText;
     private TextView progressText;
+    private TextView statsText;
     private ProgressBar progressBar;
     private RecyclerView eventsRecyclerView;
     private EventAdapter eventAdapter;
@@ -33,7 +36,20 @@ public class ProjectDetailActivity extends AppCompatActivity {
     private String projectId;
     private String projectName;
     private Handler refreshHandler;
-    private Runnable refreshRunnable;
+    private PollScheduler pollScheduler;
+    private Runnable reconnectRunnable;
+    private Runnable projectRefreshRunnable;
+    private EventStreamClient eventStream;
+    private EventPager eventPager;
+    private final CallTracker calls = new CallTracker(this);
+    private Project currentProject;
+    private boolean started;
+    // Set whenever project progress may have changed unseen while the socket was down
+    private boolean refreshOnConnect;
+
+    private static final long RECONNECT_DELAY_MS = 15000;
+    private static final long PROJECT_REFRESH_DEBOUNCE_MS = 1000;
+    private static final int EVENT_DELTA_LIMIT = 50;
 
     @Override
     protected void onCreate(Bundle savedInstanceState) {
@@ -51,14 +67,49 @@ public class ProjectDetailActivity extends AppCompatActivity {
 
         initViews();
         setupRecyclerView();
-        loadProjectData();
-        startAutoRefresh();
+        refreshHandler = new Handler();
+        pollScheduler = new PollScheduler(() -> loadProjectData(true));
+        setupEventStream();
+        loadCachedProject();
+        loadProjectData(false);
+    }
+
+    @Override
+    protected void onStart() {
+        super.onStart();
+        started = true;
+        if (eventStream != null) connectIfActive();
+    }
+
+    @Override
+    protected void onResume() {
+        super.onResume();
+        if (pollScheduler != null) pollScheduler.onResume();
+    }
+
+    @Override
+    protected void onPause() {
+        super.onPause();
+        if (pollScheduler != null) pollScheduler.onPause();
+    }
+
+    @Override
+    protected void onStop() {
+        super.onStop();
+        started = false;
+        // Nobody is watching: hold no socket open while in the background
+        if (eventStream != null) {
+            eventStream.disconnect();
+            refreshHandler.removeCallbacks(reconnectRunnable);
+            refreshOnConnect = true;
+        }
     }
 
     private void initViews() {
         projectNameText = findViewById(R.id.projectNameText);
         statusText = findViewById(R.id.statusText);
         progressText = findViewById(R.id.progressText);
+        statsText = findViewById(R.id.statsText);
         progressBar = findViewById(R.id.detailProgressBar);
         eventsRecyclerView = findViewById(R.id.eventsRecyclerView);
 
@@ -67,39 +118,140 @@ public class ProjectDetailActivity extends AppCompatActivity {
     }
 
     private void setupRecyclerView() {
-        eventAdapter = new EventAdapter(new ArrayList<>());
-        eventsRecyclerView.setLayoutManager(new LinearLayoutManager(this));
+        eventAdapter = new EventAdapter();
+        LinearLayoutManager layoutManager = new LinearLayoutManager(this);
+        eventsRecyclerView.setLayoutManager(layoutManager);
         eventsRecyclerView.setAdapter(eventAdapter);
+
+        eventPager = new EventPager(projectId, SyncEngine.get(this), calls, new EventPager.Listener() {
+            @Override
+            public void onEventsChanged(EventSnapshot events) {
+                eventAdapter.updateEvents(events);
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                progressBar.setVisibility(View.GONE);
+                Toast.makeText(ProjectDetailActivity.this,
+                        "Error loading events", Toast.LENGTH_SHORT).show();
+            }
+        });
+
+        // Page through history in either direction as the user scrolls
+        eventsRecyclerView.addOnScrollListener(new RecyclerView.OnScrollListener() {
+            @Override
+            public void onScrolled(@NonNull RecyclerView view, int dx, int dy) {
+                eventPager.onScrolled(layoutManager.findFirstVisibleItemPosition(),
+                        layoutManager.findLastVisibleItemPosition());
+            }
+        });
     }
 
-    private void loadProjectData() {
+    /**
+     * Load the project, its stats and any new events in parallel and show
+     * them in one update once all have settled. Without forceRefresh a
+     * project the repository still holds fresh is shown without a request.
+     * The first event page streams in through the pager instead.
+     */
+    private void loadProjectData(boolean forceRefresh) {
         progressBar.setVisibility(View.VISIBLE);
+        EventCursor cursor = eventPager.getHeadCursor();
+        if (cursor.isEmpty()) eventPager.loadInitial();
 
-        // Load project info
-        ApiClient.getApiService().getProject(projectId).enqueue(new Callback<Project>() {
+        ProjectRepository repository = ProjectRepository.get(this);
+        Project fresh = forceRefresh ? null : repository.peekFreshProject(projectId);
+        int limit = NetworkMonitor.getMode().pageSize(EVENT_DELTA_LIMIT);
+        calls.track(ProjectDetails.load(ApiClient.getAsyncApiService(), projectId, fresh,
+                cursor, limit))
+                .thenAcceptAsync(details -> applyDetails(details, fresh, limit), refreshHandler::post);
+    }
+
+    /**
+     * Apply a composed load to the screen, on the main thread
+     */
+    private void applyDetails(ProjectDetails details, Project fresh, int eventLimit) {
+        progressBar.setVisibility(View.GONE);
+
+        if (details.project != null) {
+            if (details.project != fresh && !details.project.equals(currentProject)) {
+                ProjectRepository.get(this).putProject(details.project);
+            }
+            updateProjectInfo(details.project);
+        }
+        if (details.stats != null) {
+            SyncEngine.get(this).saveStats(projectId, details.stats);
+            statsText.setText(ModelFormatter.projectTasks(details.stats));
+        }
+        if (details.events != null) {
+            eventPager.onNewEvents(details.events);
+            if (!details.events.isEmpty()) pollScheduler.notifyChanged();
+            // A full page means more events are waiting
+            if (details.events.size() == eventLimit) loadNewEvents();
+        }
+
+        if (details.error instanceof HttpException) {
+            if (((HttpException) details.error).code() == 404) {
+                ProjectRepository.get(this).evictProject(projectId);
+            }
+        } else if (details.error != null) {
+            Toast.makeText(this, "Error loading project", Toast.LENGTH_SHORT).show();
+        }
+    }
+
+    private void loadCachedProject() {
+        SyncEngine.get(this).readStats(projectId, stats -> {
+            if (stats != null && statsText.length() == 0 && !isFinishing()) {
+                statsText.setText(ModelFormatter.projectTasks(stats));
+            }
+        });
+        if (ProjectRepository.get(this).peekProject(projectId) != null) return;
+
+        SyncEngine.get(this).readProject(projectId, project -> {
+            if (project != null && currentProject == null && !isFinishing()) {
+                updateProjectInfo(project);
+            }
+        });
+    }
+
+    private void loadProject(boolean forceRefresh) {
+        ProjectRepository.get(this).getProject(projectId, forceRefresh,
+                calls.bind(new ProjectRepository.Callback<Project>() {
             @Override
-            public void onResponse(Call<Project> call, Response<Project> response) {
-                if (response.isSuccessful() && response.body() != null) {
-                    updateProjectInfo(response.body());
-                }
+            public void onResult(Project project) {
+                updateProjectInfo(project);
             }
 
             @Override
-            public void onFailure(Call<Project> call, Throwable t) {
+            public void onError(Throwable t) {
+                if (t instanceof HttpException) return;
                 Toast.makeText(ProjectDetailActivity.this,
                         "Error loading project", Toast.LENGTH_SHORT).show();
             }
-        });
+        }));
+    }
 
-        // Load events
-        ApiClient.getApiService().getProjectEvents(projectId, 50)
-                .enqueue(new Callback<List<Event>>() {
+    /**
+     * Fetch only events newer than the head cursor and hand them to the pager
+     */
+    private void loadNewEvents() {
+        EventCursor cursor = eventPager.getHeadCursor();
+        int limit = NetworkMonitor.getMode().pageSize(EVENT_DELTA_LIMIT);
+        calls.enqueue(ApiClient.getApiService().getProjectEventsSince(projectId,
+                cursor.getTimestamp(), cursor.getEventId(), limit),
+                new Callback<List<Event>>() {
             @Override
             public void onResponse(Call<List<Event>> call, Response<List<Event>> response) {
                 progressBar.setVisibility(View.GONE);
 
                 if (response.isSuccessful() && response.body() != null) {
-                    eventAdapter.updateEvents(response.body());
+                    List<Event> newEvents = response.body();
+                    eventPager.onNewEvents(newEvents);
+                    if (!newEvents.isEmpty()) pollScheduler.notifyChanged();
+
+                    // A full page means more events are waiting
+                    if (newEvents.size() == limit) {
+                        loadNewEvents();
+                    }
                 }
             }
 
@@ -113,31 +265,91 @@ public class ProjectDetailActivity extends AppCompatActivity {
     }
 
     private void updateProjectInfo(Project project) {
+        boolean wasTerminal = currentProject != null && currentProject.isTerminal();
+        if (currentProject != null && !project.equals(currentProject)) {
+            pollScheduler.notifyChanged();
+        }
+        currentProject = project;
+
+        // Finished projects no longer change: stop polling and streaming
+        pollScheduler.setTerminal(project.isTerminal());
+        if (project.isTerminal()) {
+            eventStream.disconnect();
+            refreshHandler.removeCallbacks(reconnectRunnable);
+        } else if (wasTerminal) {
+            connectIfActive();
+        }
+
         projectNameText.setText(project.getName());
         statusText.setText("Status: " + project.getStatus());
-        progressText.setText(String.format("Progress: %d / %d tasks (%d%%)",
-                project.getCompletedTasks(),
-                project.getTotalTasks(),
-                project.getProgressPercentage()));
+        progressText.setText(ModelFormatter.projectProgress(project));
     }
 
-    private void startAutoRefresh() {
-        refreshHandler = new Handler();
-        refreshRunnable = new Runnable() {
+    /**
+     * Stream live events over WebSocket while the activity is visible and
+     * the project is still running; REST polling is only used while the
+     * socket is down.
+     */
+    private void setupEventStream() {
+        eventStream = new EventStreamClient(projectId, new EventStreamClient.Listener() {
+            @Override
+            public void onConnected() {
+                pollScheduler.disable();
+                // Missed events are replayed by the stream from the cursor; only the project is refetched
+                if (refreshOnConnect) {
+                    refreshOnConnect = false;
+                    scheduleProjectRefresh();
+                }
+            }
+
             @Override
-            public void run() {
-                loadProjectData();
-                refreshHandler.postDelayed(this, 5000); // Refresh every 5 seconds
+            public void onEvent(Event event) {
+                eventPager.onNewEvents(Collections.singletonList(event));
+                scheduleProjectRefresh();
             }
-        };
-        refreshHandler.postDelayed(refreshRunnable, 5000);
+
+            @Override
+            public void onDisconnected() {
+                refreshOnConnect = true;
+                pollScheduler.enable();
+                refreshHandler.removeCallbacks(reconnectRunnable);
+                refreshHandler.postDelayed(reconnectRunnable, RECONNECT_DELAY_MS);
+            }
+        });
+
+        reconnectRunnable = this::connectIfActive;
+        projectRefreshRunnable = () -> loadProject(true);
+        if (started) connectIfActive();
+    }
+
+    private void connectIfActive() {
+        if (started && (currentProject == null || !currentProject.isTerminal())) {
+            eventStream.connect(eventPager.getHeadCursor());
+        }
+    }
+
+    /**
+     * Refresh project progress after a burst of streamed events
+     */
+    private void scheduleProjectRefresh() {
+        refreshHandler.removeCallbacks(projectRefreshRunnable);
+        refreshHandler.postDelayed(projectRefreshRunnable, PROJECT_REFRESH_DEBOUNCE_MS);
     }
 
     @Override
     protected void onDestroy() {
         super.onDestroy();
-        if (refreshHandler != null && refreshRunnable != null) {
-            refreshHandler.removeCallbacks(refreshRunnable);
+        if (eventStream != null) {
+            eventStream.disconnect();
+        }
+        if (pollScheduler != null) {
+            pollScheduler.disable();
+        }
+        if (eventPager != null) {
+            eventPager.cancel();
+        }
+        if (refreshHandler != null) {
+            refreshHandler.removeCallbacksAndMessages(null);
         }
     }
 }
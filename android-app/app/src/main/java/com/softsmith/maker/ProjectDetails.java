@@ -0,0 +1,101 @@
+package com.softsmith.maker;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import okhttp3.Request;
+
+/**
+ * Project, stats and new events for the detail screen, fetched in
+ * parallel and delivered together once all three have settled.
+ *
+ * Each part fails on its own: a part that could not be loaded is null
+ * and the first failure is kept in error, so one slow or broken endpoint
+ * does not hide the others.
+ */
+final class ProjectDetails {
+
+    final Project project;
+    final ProjectStats stats;
+    // Oldest first; null when no events were requested or they failed
+    final List<Event> events;
+    final Throwable error;
+
+    private ProjectDetails(Project project, ProjectStats stats, List<Event> events,
+                           Throwable error) {
+        this.project = project;
+        this.stats = stats;
+        this.events = events;
+        this.error = error;
+    }
+
+    /**
+     * Start all requests at once. A non-null cachedProject is used instead
+     * of fetching the project, and events are only fetched after a
+     * non-empty cursor. The returned future never completes exceptionally.
+     */
+    static CompletableFuture<ProjectDetails> load(AsyncApiService api, String projectId,
+                                                  Project cachedProject, EventCursor since,
+                                                  int eventLimit) {
+        CompletableFuture<Project> project = cachedProject != null
+                ? CompletableFuture.completedFuture(cachedProject)
+                : api.getProject(projectId);
+        CompletableFuture<ProjectStats> stats = api.getProjectStats(projectId);
+        CompletableFuture<List<Event>> events = since.isEmpty()
+                ? CompletableFuture.completedFuture(null)
+                : api.getProjectEventsSince(projectId, since.getTimestamp(), since.getEventId(),
+                        eventLimit);
+
+        Load details = new Load(project, stats, events);
+        CompletableFuture.allOf(project, stats, events)
+                .whenComplete((ignored, allError) -> details.complete(new ProjectDetails(
+                        valueOf(project), valueOf(stats), valueOf(events),
+                        firstError(project, stats, events))));
+        // Canceling the combined load cancels the requests still running
+        details.whenComplete((result, t) -> {
+            if (details.isCancelled()) {
+                project.cancel(true);
+                stats.cancel(true);
+                events.cancel(true);
+            }
+        });
+        return details;
+    }
+
+    /** The combined load, exposing the requests of its parts to CallTracker */
+    private static final class Load extends CompletableFuture<ProjectDetails>
+            implements RequestSource {
+        private final List<Request> requests = new ArrayList<>();
+
+        Load(CompletableFuture<?>... parts) {
+            for (CompletableFuture<?> part : parts) {
+                if (part instanceof RequestSource) {
+                    requests.addAll(((RequestSource) part).getRequests());
+                }
+            }
+        }
+
+        @Override
+        public List<Request> getRequests() {
+            return requests;
+        }
+    }
+
+    private static <T> T valueOf(CompletableFuture<T> future) {
+        return future.isCompletedExceptionally() ? null : future.join();
+    }
+
+    private static Throwable firstError(CompletableFuture<?>... futures) {
+        for (CompletableFuture<?> future : futures) {
+            if (future.isCompletedExceptionally()) {
+                try {
+                    future.join();
+                } catch (RuntimeException e) {
+                    return e.getCause() != null ? e.getCause() : e;
+                }
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,189 @@
+package com.softsmith.maker;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Offset-paged window over the project list. Pages come from
+ * ProjectRepository, backed by the local copy in SyncEngine when the
+ * network is slow or unavailable.
+ *
+ * Keeps a contiguous range of at most MAX_PAGES pages in memory, loads the
+ * next/previous page as the viewport approaches either edge (sooner on
+ * unmetered networks, later on metered ones), and drops the
+ * page furthest from the viewport once the window is full. All methods
+ * must be called on the main thread.
+ */
+public class ProjectPager {
+
+    public interface Listener {
+        void onProjectsChanged(List<Project> projects);
+        void onError(Throwable t);
+    }
+
+    static final int PAGE_SIZE = 50;
+    static final int MAX_PAGES = 5;
+
+    private final Listener listener;
+    private final ProjectRepository repository;
+    private final SyncEngine syncEngine;
+    private final CallTracker calls;
+    private final TreeMap<Integer, List<Project>> pages = new TreeMap<>();
+    // First page index known to be past the end of the list
+    private int endPage = Integer.MAX_VALUE;
+
+    public ProjectPager(ProjectRepository repository, SyncEngine syncEngine, CallTracker calls,
+                        Listener listener) {
+        this.repository = repository;
+        this.syncEngine = syncEngine;
+        this.calls = calls;
+        this.listener = listener;
+    }
+
+    public boolean isEmpty() {
+        return pages.isEmpty();
+    }
+
+    /**
+     * Show the first page from memory or disk immediately, then revalidate it
+     */
+    public void loadInitial() {
+        syncEngine.readProjects(PAGE_SIZE, 0, calls.bind(cached -> {
+            if (pages.isEmpty() && cached != null && !cached.isEmpty()) {
+                onPageLoaded(0, cached);
+            }
+        }));
+        loadPage(0);
+    }
+
+    /**
+     * Revalidate every page in the window. Pages the repository still
+     * holds fresh cost no request; unchanged stale pages revalidate as 304s.
+     */
+    public void refresh() {
+        if (pages.isEmpty()) {
+            loadInitial();
+            return;
+        }
+        for (int page : new ArrayList<>(pages.keySet())) {
+            loadPage(page);
+        }
+    }
+
+    /**
+     * Report the visible adapter positions after a scroll
+     */
+    public void onScrolled(int firstVisible, int lastVisible) {
+        if (pages.isEmpty() || firstVisible < 0) return;
+
+        int total = countProjects();
+        int prefetchDistance = NetworkMonitor.getMode().prefetchDistance(PAGE_SIZE);
+        if (lastVisible >= total - prefetchDistance) {
+            int next = pages.lastKey() + 1;
+            if (next < endPage) loadPage(next);
+        }
+        if (firstVisible < prefetchDistance) {
+            int previous = pages.firstKey() - 1;
+            if (previous >= 0) loadPage(previous);
+        }
+    }
+
+    private void loadPage(int page) {
+        repository.getProjects(PAGE_SIZE, page * PAGE_SIZE, false,
+                calls.bind(new ProjectRepository.Callback<List<Project>>() {
+            @Override
+            public void onResult(List<Project> projects) {
+                onPageLoaded(page, projects);
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                loadCachedPage(page, t);
+            }
+        }));
+    }
+
+    /**
+     * Offline fallback: serve a page the window lacks from the local copy
+     */
+    private void loadCachedPage(int page, Throwable error) {
+        if (pages.containsKey(page)) {
+            listener.onError(error);
+            return;
+        }
+        syncEngine.readProjects(PAGE_SIZE, page * PAGE_SIZE, calls.bind(cached -> {
+            if (cached != null && !cached.isEmpty()) {
+                if (!pages.containsKey(page)) onPageLoaded(page, cached);
+            } else {
+                listener.onError(error);
+            }
+        }));
+    }
+
+    private void onPageLoaded(int page, List<Project> projects) {
+        // Fresh repository hits hand back the page already shown
+        if (pages.get(page) == projects) return;
+
+        // Ignore pages that no longer touch the window, e.g. after eviction
+        boolean adjacent = pages.isEmpty()
+                || pages.containsKey(page)
+                || page == pages.firstKey() - 1
+                || page == pages.lastKey() + 1;
+        if (!adjacent) return;
+
+        if (projects.size() < PAGE_SIZE) {
+            endPage = page + 1;
+            pages.tailMap(endPage).clear();
+        } else if (endPage == page + 1) {
+            // The list grew past what used to be the last page
+            endPage = Integer.MAX_VALUE;
+        }
+
+        if (projects.isEmpty() && page > 0) {
+            pages.remove(page);
+        } else {
+            pages.put(page, projects);
+        }
+        evictFarthestFrom(page);
+        listener.onProjectsChanged(flatten());
+    }
+
+    private void evictFarthestFrom(int page) {
+        while (pages.size() > MAX_PAGES) {
+            if (page - pages.firstKey() > pages.lastKey() - page) {
+                pages.pollFirstEntry();
+            } else {
+                pages.pollLastEntry();
+            }
+        }
+    }
+
+    /**
+     * Concatenate the window, dropping rows that shifted across a page
+     * boundary since offsets were taken
+     */
+    private List<Project> flatten() {
+        List<Project> result = new ArrayList<>(pages.size() * PAGE_SIZE);
+        Set<String> seen = new HashSet<>();
+        for (Map.Entry<Integer, List<Project>> entry : pages.entrySet()) {
+            for (Project project : entry.getValue()) {
+                if (seen.add(project.getId())) {
+                    result.add(project);
+                }
+            }
+        }
+        return result;
+    }
+
+    private int countProjects() {
+        int count = 0;
+        for (List<Project> page : pages.values()) {
+            count += page.size();
+        }
+        return count;
+    }
+}
@@ -0,0 +1,215 @@
+package com.softsmith.maker;
+
+import android.content.Context;
+import android.os.SystemClock;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import retrofit2.Call;
+import retrofit2.HttpException;
+import retrofit2.Response;
+
+/**
+ * Process-wide in-memory cache of projects and project list pages,
+ * shared by every screen.
+ *
+ * Reads are stale-while-revalidate: a cached value is delivered at once,
+ * and if it is older than FRESH_MS it is also re-fetched in the
+ * background, with the callback invoked a second time only if the value
+ * changed. Concurrent fetches of the same key share one request. Fresh
+ * values cost no network at all, so moving between screens does not
+ * refetch what was just loaded. Network results are written through to
+ * SyncEngine. All methods must be called on the main thread.
+ */
+public class ProjectRepository {
+
+    public interface Callback<T> {
+        void onResult(T value);
+        void onError(Throwable t);
+    }
+
+    static final long FRESH_MS = 30_000;
+
+    private static ProjectRepository instance;
+
+    private final SyncEngine syncEngine;
+    private final Map<String, Entry<Project>> projects = new HashMap<>();
+    private final Map<String, Entry<List<Project>>> pages = new HashMap<>();
+    private final Map<String, List<Callback<Project>>> projectFetches = new HashMap<>();
+    private final Map<String, List<Callback<List<Project>>>> pageFetches = new HashMap<>();
+
+    private static final class Entry<T> {
+        final T value;
+        final long fetchedAt;
+
+        Entry(T value, long fetchedAt) {
+            this.value = value;
+            this.fetchedAt = fetchedAt;
+        }
+
+        boolean isFresh() {
+            return SystemClock.elapsedRealtime() - fetchedAt < FRESH_MS;
+        }
+    }
+
+    public static synchronized ProjectRepository get(Context context) {
+        if (instance == null) {
+            instance = new ProjectRepository(SyncEngine.get(context));
+        }
+        return instance;
+    }
+
+    private ProjectRepository(SyncEngine syncEngine) {
+        this.syncEngine = syncEngine;
+    }
+
+    public Project peekProject(String projectId) {
+        Entry<Project> entry = projects.get(projectId);
+        return entry != null ? entry.value : null;
+    }
+
+    /** The cached project if it is still fresh, else null */
+    public Project peekFreshProject(String projectId) {
+        Entry<Project> entry = projects.get(projectId);
+        return entry != null && entry.isFresh() ? entry.value : null;
+    }
+
+    /**
+     * Store a project fetched outside the repository, e.g. by a composed load
+     */
+    public void putProject(Project project) {
+        storeProjects(Collections.singletonList(project));
+    }
+
+    /**
+     * Forget a project the backend no longer has, here and on disk
+     */
+    public void evictProject(String projectId) {
+        projects.remove(projectId);
+        syncEngine.removeProject(projectId);
+    }
+
+    /**
+     * Deliver the cached project, then revalidate it if it is stale or
+     * forceRefresh is set. A 404 evicts the project and surfaces as an
+     * HttpException.
+     */
+    public void getProject(String projectId, boolean forceRefresh, Callback<Project> callback) {
+        Entry<Project> entry = projects.get(projectId);
+        if (entry != null) {
+            callback.onResult(entry.value);
+            if (!forceRefresh && entry.isFresh()) return;
+        }
+
+        Project cached = entry != null ? entry.value : null;
+        fetch(projectFetches, projectId, ApiClient.getApiService().getProject(projectId),
+                project -> storeProjects(Collections.singletonList(project)),
+                () -> evictProject(projectId),
+                new Callback<Project>() {
+            @Override
+            public void onResult(Project project) {
+                if (!project.equals(cached)) callback.onResult(project);
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                callback.onError(t);
+            }
+        });
+    }
+
+    /**
+     * Deliver the cached list page, then revalidate it if it is stale or
+     * forceRefresh is set. Fetched rows also refresh the per-project cache.
+     */
+    public void getProjects(int limit, int offset, boolean forceRefresh,
+                            Callback<List<Project>> callback) {
+        String key = limit + ":" + offset;
+        Entry<List<Project>> entry = pages.get(key);
+        if (entry != null) {
+            callback.onResult(entry.value);
+            if (!forceRefresh && entry.isFresh()) return;
+        }
+
+        List<Project> cached = entry != null ? entry.value : null;
+        fetch(pageFetches, key, ApiClient.getApiService().getProjects(limit, offset),
+                page -> {
+                    pages.put(key, new Entry<>(page, SystemClock.elapsedRealtime()));
+                    storeProjects(page);
+                },
+                null,
+                new Callback<List<Project>>() {
+            @Override
+            public void onResult(List<Project> page) {
+                if (!page.equals(cached)) callback.onResult(page);
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                callback.onError(t);
+            }
+        });
+    }
+
+    /**
+     * Mark every cached list page stale, e.g. after creating a project.
+     * Values stay available for instant display while they revalidate.
+     */
+    public void invalidateProjects() {
+        for (Map.Entry<String, Entry<List<Project>>> page : pages.entrySet()) {
+            page.setValue(new Entry<>(page.getValue().value, -FRESH_MS));
+        }
+    }
+
+    private void storeProjects(List<Project> fetched) {
+        long now = SystemClock.elapsedRealtime();
+        for (Project project : fetched) {
+            projects.put(project.getId(), new Entry<>(project, now));
+        }
+        syncEngine.saveProjects(fetched);
+    }
+
+    /**
+     * Start the request for key unless one is already running, in which
+     * case callback joins it. onSuccess runs once per response, before
+     * the callbacks.
+     */
+    private <T> void fetch(Map<String, List<Callback<T>>> inFlight, String key, Call<T> call,
+                           Consumer<T> onSuccess, Runnable onNotFound, Callback<T> callback) {
+        List<Callback<T>> waiters = inFlight.get(key);
+        if (waiters != null) {
+            waiters.add(callback);
+            return;
+        }
+        waiters = new ArrayList<>();
+        waiters.add(callback);
+        inFlight.put(key, waiters);
+
+        call.enqueue(new retrofit2.Callback<T>() {
+            @Override
+            public void onResponse(Call<T> call, Response<T> response) {
+                List<Callback<T>> done = inFlight.remove(key);
+                if (response.isSuccessful() && response.body() != null) {
+                    T value = response.body();
+                    onSuccess.accept(value);
+                    for (Callback<T> waiter : done) waiter.onResult(value);
+                } else {
+                    if (response.code() == 404 && onNotFound != null) onNotFound.run();
+                    HttpException error = new HttpException(response);
+                    for (Callback<T> waiter : done) waiter.onError(error);
+                }
+            }
+
+            @Override
+            public void onFailure(Call<T> call, Throwable t) {
+                List<Callback<T>> done = inFlight.remove(key);
+                for (Callback<T> waiter : done) waiter.onError(t);
+            }
+        });
+    }
+}
@@ -34,4 +34,12 @@ public class ProjectStats {
     public int getCompletedTasks() { return completedTasks; }
     public int getFailedTasks() { return failedTasks; }
     public float getProgressPercentage() { return progressPercentage; }
+
+    // Setters
+    public void setTotalTasks(int totalTasks) { this.totalTasks = totalTasks; }
+    public void setPendingTasks(int pendingTasks) { this.pendingTasks = pendingTasks; }
+    public void setRunningTasks(int runningTasks) { this.runningTasks = runningTasks; }
+    public void setCompletedTasks(int completedTasks) { this.completedTasks = completedTasks; }
+    public void setFailedTasks(int failedTasks) { this.failedTasks = failedTasks; }
+    public void setProgressPercentage(float progressPercentage) { this.progressPercentage = progressPercentage; }
 }
@@ -0,0 +1,197 @@
+package com.softsmith.maker;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import okhttp3.Headers;
+import okhttp3.Interceptor;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import okhttp3.Response;
+import okio.Buffer;
+import okio.BufferedSink;
+import okio.Okio;
+import okio.Sink;
+import okio.Timeout;
+
+/**
+ * Lightweight replacement for HttpLoggingInterceptor.
+ *
+ * Only a sampled fraction of calls is logged. Headers are captured as
+ * the immutable objects OkHttp already holds, and bodies are peeked up
+ * to maxBodyBytes instead of buffered whole. Formatting and writing
+ * happen on a background thread into a bounded ring buffer (mirrored to
+ * a Logger, e.g. logcat); if that thread falls behind, entries are
+ * dropped rather than slowing calls down. Settings can be changed at
+ * runtime.
+ */
+public class RequestLogger implements Interceptor {
+
+    public enum Level { NONE, BASIC, HEADERS, BODY }
+
+    /** Receives each entry on the writer thread */
+    public interface Logger {
+        void log(String entry);
+    }
+    private static final int RING_SIZE = 200;
+    private static final int MAX_PENDING = 64;
+
+    private volatile Level level;
+    private volatile double sampleRate;
+    private volatile long maxBodyBytes;
+    private final Logger logger;
+
+    private final ArrayDeque<String> ring = new ArrayDeque<>(RING_SIZE);
+    private final AtomicLong dropped = new AtomicLong();
+    private final ThreadPoolExecutor writer = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(MAX_PENDING),
+            (task, executor) -> dropped.incrementAndGet());
+
+    public RequestLogger(Level level, double sampleRate, long maxBodyBytes, Logger logger) {
+        this.level = level;
+        this.sampleRate = sampleRate;
+        this.maxBodyBytes = maxBodyBytes;
+        this.logger = logger;
+    }
+
+    public void setLevel(Level level) {
+        this.level = level;
+    }
+
+    /** Fraction of calls to log, 0 to 1 */
+    public void setSampleRate(double sampleRate) {
+        this.sampleRate = sampleRate;
+    }
+
+    public void setMaxBodyBytes(long maxBodyBytes) {
+        this.maxBodyBytes = maxBodyBytes;
+    }
+
+    /** The most recent entries, oldest first */
+    public List<String> getEntries() {
+        synchronized (ring) {
+            return new ArrayList<>(ring);
+        }
+    }
+
+    /** Entries lost because the writer thread was behind */
+    public long getDroppedCount() {
+        return dropped.get();
+    }
+
+    @Override
+    public Response intercept(Chain chain) throws IOException {
+        Level level = this.level;
+        Request request = chain.request();
+        if (level == Level.NONE || ThreadLocalRandom.current().nextDouble() >= sampleRate) {
+            return chain.proceed(request);
+        }
+
+        long start = System.nanoTime();
+        Response response;
+        try {
+            response = chain.proceed(request);
+        } catch (IOException e) {
+            long tookMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            write(() -> request.method() + " " + request.url() + " failed after " + tookMs
+                    + "ms: " + e);
+            throw e;
+        }
+        long tookMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        String requestBody = null;
+        String responseBody = null;
+        if (level == Level.BODY) {
+            requestBody = peek(request.body());
+            responseBody = response.peekBody(maxBodyBytes).string();
+        }
+
+        int code = response.code();
+        Headers requestHeaders = level.compareTo(Level.HEADERS) >= 0 ? request.headers() : null;
+        Headers responseHeaders = level.compareTo(Level.HEADERS) >= 0 ? response.headers() : null;
+        String sentBody = requestBody;
+        String receivedBody = responseBody;
+
+        write(() -> {
+            StringBuilder sb = new StringBuilder()
+                    .append(request.method()).append(' ').append(request.url())
+                    .append(" -> ").append(code).append(" (").append(tookMs).append("ms)");
+            if (requestHeaders != null) appendHeaders(sb.append("\n> "), requestHeaders, "\n> ");
+            if (sentBody != null) sb.append("\n> ").append(sentBody);
+            if (responseHeaders != null) appendHeaders(sb.append("\n< "), responseHeaders, "\n< ");
+            if (receivedBody != null) sb.append("\n< ").append(receivedBody);
+            return sb.toString();
+        });
+        return response;
+    }
+
+    private String peek(RequestBody body) throws IOException {
+        if (body == null || body.isOneShot() || body.isDuplex()) return null;
+
+        CappedSink capped = new CappedSink(maxBodyBytes);
+        BufferedSink sink = Okio.buffer(capped);
+        body.writeTo(sink);
+        sink.flush();
+        String text = capped.kept.readUtf8();
+        return capped.size > maxBodyBytes ? text + "... (" + capped.size + " bytes)" : text;
+    }
+
+    /** Keeps the first bytes written to it and only counts the rest */
+    private static final class CappedSink implements Sink {
+        final Buffer kept = new Buffer();
+        final long cap;
+        long size;
+
+        CappedSink(long cap) {
+            this.cap = cap;
+        }
+
+        @Override
+        public void write(Buffer source, long byteCount) throws IOException {
+            long keep = Math.max(0, Math.min(byteCount, cap - kept.size()));
+            kept.write(source, keep);
+            source.skip(byteCount - keep);
+            size += byteCount;
+        }
+
+        @Override
+        public void flush() {}
+
+        @Override
+        public Timeout timeout() {
+            return Timeout.NONE;
+        }
+
+        @Override
+        public void close() {}
+    }
+
+    private static void appendHeaders(StringBuilder sb, Headers headers, String separator) {
+        for (int i = 0; i < headers.size(); i++) {
+            if (i > 0) sb.append(separator);
+            sb.append(headers.name(i)).append(": ").append(headers.value(i));
+        }
+    }
+
+    private interface Entry {
+        String format();
+    }
+
+    private void write(Entry entry) {
+        writer.execute(() -> {
+            String line = entry.format();
+            synchronized (ring) {
+                if (ring.size() == RING_SIZE) ring.pollFirst();
+                ring.addLast(line);
+            }
+            logger.log(line);
+        });
+    }
+}
@@ -0,0 +1,13 @@
+package com.softsmith.maker;
+
+import java.util.List;
+
+import okhttp3.Request;
+
+/**
+ * A future backed by HTTP calls, which canceling it cancels. CallTracker
+ * uses the requests to estimate what a canceled future did not download.
+ */
+public interface RequestSource {
+    List<Request> getRequests();
+}
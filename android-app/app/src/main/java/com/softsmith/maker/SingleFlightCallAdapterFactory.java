@@ -0,0 +1,219 @@
+package com.softsmith.maker;
+
+import java.io.IOException;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import okhttp3.Request;
+import okhttp3.ResponseBody;
+import okio.Timeout;
+import retrofit2.Call;
+import retrofit2.CallAdapter;
+import retrofit2.Callback;
+import retrofit2.Response;
+import retrofit2.Retrofit;
+import retrofit2.http.GET;
+import retrofit2.http.Streaming;
+
+/**
+ * Coalesces identical in-flight GET calls from ApiService.
+ *
+ * When a GET is enqueued while the same method and URL is already in
+ * flight, it joins that exchange instead of starting another: every
+ * caller receives the same decoded Response once it arrives. Streaming
+ * and raw ResponseBody calls are left alone because their bodies can
+ * only be read once, and execute() is not coalesced.
+ */
+public final class SingleFlightCallAdapterFactory extends CallAdapter.Factory {
+
+    private static final AtomicLong started = new AtomicLong();
+    private static final AtomicLong coalesced = new AtomicLong();
+
+    private static final Map<String, Flight<?>> flights = new HashMap<>();
+
+    /** GETs that went to the network */
+    public static long getStartedCount() {
+        return started.get();
+    }
+
+    /** GETs that shared another call's exchange instead of making their own */
+    public static long getCoalescedCount() {
+        return coalesced.get();
+    }
+
+    @Override
+    public CallAdapter<?, ?> get(Type returnType, Annotation[] annotations, Retrofit retrofit) {
+        if (getRawType(returnType) != Call.class) return null;
+
+        boolean get = false;
+        for (Annotation annotation : annotations) {
+            if (annotation instanceof Streaming) return null;
+            if (annotation instanceof GET) get = true;
+        }
+        if (!get) return null;
+
+        @SuppressWarnings("unchecked")
+        CallAdapter<Object, Call<?>> delegate = (CallAdapter<Object, Call<?>>)
+                retrofit.nextCallAdapter(this, returnType, annotations);
+        if (delegate.responseType() == ResponseBody.class) return null;
+
+        return new CallAdapter<Object, Call<?>>() {
+            @Override
+            public Type responseType() {
+                return delegate.responseType();
+            }
+
+            @Override
+            public Call<?> adapt(Call<Object> call) {
+                return new SingleFlightCall<>(delegate.adapt(call));
+            }
+        };
+    }
+
+    private static final class Flight<T> {
+        final String key;
+        final Call<T> leader;
+        final List<SingleFlightCall<T>> members = new ArrayList<>();
+
+        Flight(String key, Call<T> leader) {
+            this.key = key;
+            this.leader = leader;
+        }
+    }
+
+    private static final class SingleFlightCall<T> implements Call<T> {
+        private final Call<T> delegate;
+        private final String key;
+        private Callback<T> callback;
+        private Flight<T> flight;
+        private volatile boolean executed;
+        private volatile boolean canceled;
+
+        @SuppressWarnings("unchecked")
+        SingleFlightCall(Call<?> delegate) {
+            this.delegate = (Call<T>) delegate;
+            Request request = delegate.request();
+            this.key = request.method() + " " + request.url();
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        public void enqueue(Callback<T> callback) {
+            boolean lead;
+            synchronized (flights) {
+                if (executed) throw new IllegalStateException("Already executed.");
+                executed = true;
+                this.callback = callback;
+
+                flight = (Flight<T>) flights.get(key);
+                lead = flight == null;
+                if (lead) {
+                    flight = new Flight<>(key, delegate);
+                    flights.put(key, flight);
+                }
+                flight.members.add(this);
+            }
+
+            if (!lead) {
+                coalesced.incrementAndGet();
+                return;
+            }
+            started.incrementAndGet();
+
+            Flight<T> leading = flight;
+            delegate.enqueue(new Callback<T>() {
+                @Override
+                public void onResponse(Call<T> call, Response<T> response) {
+                    for (SingleFlightCall<T> member : land(leading)) {
+                        if (member.canceled) {
+                            member.callback.onFailure(member, new IOException("Canceled"));
+                        } else {
+                            member.callback.onResponse(member, response);
+                        }
+                    }
+                }
+
+                @Override
+                public void onFailure(Call<T> call, Throwable t) {
+                    for (SingleFlightCall<T> member : land(leading)) {
+                        member.callback.onFailure(member,
+                                member.canceled ? new IOException("Canceled") : t);
+                    }
+                }
+            });
+        }
+
+        /**
+         * Close the flight to new members and return everyone on it
+         */
+        private static <T> List<SingleFlightCall<T>> land(Flight<T> flight) {
+            synchronized (flights) {
+                flights.remove(flight.key, flight);
+                return new ArrayList<>(flight.members);
+            }
+        }
+
+        @Override
+        public Response<T> execute() throws IOException {
+            synchronized (flights) {
+                if (executed) throw new IllegalStateException("Already executed.");
+                executed = true;
+            }
+            started.incrementAndGet();
+            return delegate.execute();
+        }
+
+        /**
+         * Cancel this caller; the shared exchange is only canceled once
+         * every caller waiting on it has canceled
+         */
+        @Override
+        public void cancel() {
+            canceled = true;
+            Flight<T> current;
+            synchronized (flights) {
+                current = flight;
+                if (current == null) {
+                    delegate.cancel();
+                    return;
+                }
+                for (SingleFlightCall<T> member : current.members) {
+                    if (!member.canceled) return;
+                }
+                // Nobody is waiting any more: let the next caller start afresh
+                flights.remove(current.key, current);
+            }
+            current.leader.cancel();
+        }
+
+        @Override
+        public boolean isExecuted() {
+            return executed;
+        }
+
+        @Override
+        public boolean isCanceled() {
+            return canceled;
+        }
+
+        @Override
+        public Call<T> clone() {
+            return new SingleFlightCall<>(delegate.clone());
+        }
+
+        @Override
+        public Request request() {
+            return delegate.request();
+        }
+
+        @Override
+        public Timeout timeout() {
+            return delegate.timeout();
+        }
+    }
+}
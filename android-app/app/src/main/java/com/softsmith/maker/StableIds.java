@@ -0,0 +1,26 @@
+package com.softsmith.maker;
+
+import java.util.UUID;
+
+/**
+ * Maps backend string ids to RecyclerView stable item ids.
+ * Free of Android classes so the models can be used on a plain JVM.
+ */
+final class StableIds {
+
+    // RecyclerView.NO_ID
+    static final long NO_ID = -1;
+
+    private StableIds() {}
+
+    static long of(String id) {
+        if (id == null) return NO_ID;
+        try {
+            // Backend ids are UUIDs; fold both halves into one long
+            UUID uuid = UUID.fromString(id);
+            return uuid.getMostSignificantBits() ^ uuid.getLeastSignificantBits();
+        } catch (IllegalArgumentException e) {
+            return id.hashCode();
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.softsmith.maker;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Grow-only interning table mapping repeated strings to small int ids.
+ * Not thread-safe; used from the main thread only.
+ */
+final class StringDictionary {
+
+    static final int NONE = -1;
+
+    private final Map<String, Integer> ids = new HashMap<>();
+    private final List<String> values = new ArrayList<>();
+
+    int intern(String value) {
+        if (value == null) return NONE;
+
+        Integer id = ids.get(value);
+        if (id == null) {
+            id = values.size();
+            values.add(value);
+            ids.put(value, id);
+        }
+        return id;
+    }
+
+    String get(int id) {
+        return id == NONE ? null : values.get(id);
+    }
+
+    int size() {
+        return values.size();
+    }
+}
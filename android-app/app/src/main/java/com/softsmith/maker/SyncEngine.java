@@ -0,0 +1,163 @@
+package com.softsmith.maker;
+
+import android.content.Context;
+import android.os.Handler;
+import android.os.Looper;
+import android.os.SystemClock;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+
+import retrofit2.Response;
+
+/**
+ * Runs LocalDatabase reads and writes on a background thread and keeps
+ * the local copy in step with the backend.
+ *
+ * Screens read cached rows first, write network results through, and
+ * fall back to the cache when the network is unavailable. syncProjects()
+ * pulls only projects whose updated_at moved past the stored cursor.
+ *
+ * Deletions are not reconciled by sync: the backend deletes projects
+ * outright and keeps no tombstones, so a project deleted elsewhere stays
+ * in the local copy until a request for it returns 404 and
+ * ProjectRepository.evictProject() removes it.
+ */
+public class SyncEngine {
+
+    private static final String KEY_PROJECTS_UPDATED_AT = "projects_updated_at";
+    private static final String KEY_PROJECTS_AFTER_ID = "projects_after_id";
+    private static final String EPOCH = "1970-01-01T00:00:00";
+    private static final int SYNC_PAGE_SIZE = 100;
+    // Screens resuming within this window reuse the last sync
+    private static final long MIN_SYNC_INTERVAL_MS = 60_000;
+
+    private static SyncEngine instance;
+
+    private final LocalDatabase database;
+    private final ExecutorService diskExecutor = Executors.newSingleThreadExecutor();
+    // Sync blocks on the network, so it must not hold up cached reads
+    private final ExecutorService syncExecutor = Executors.newSingleThreadExecutor();
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+    private boolean syncingProjects;
+    private long lastProjectSync = -MIN_SYNC_INTERVAL_MS;
+
+    public static synchronized SyncEngine get(Context context) {
+        if (instance == null) {
+            instance = new SyncEngine(LocalDatabase.get(context));
+        }
+        return instance;
+    }
+
+    private SyncEngine(LocalDatabase database) {
+        this.database = database;
+    }
+
+    // Cached reads, delivered on the main thread
+
+    public void readProjects(int limit, int offset, Consumer<List<Project>> callback) {
+        read(() -> database.getProjects(limit, offset), callback);
+    }
+
+    public void readProject(String projectId, Consumer<Project> callback) {
+        read(() -> database.getProject(projectId), callback);
+    }
+
+    public void readStats(String projectId, Consumer<ProjectStats> callback) {
+        read(() -> database.getStats(projectId), callback);
+    }
+
+    public void readNewestEvents(String projectId, int limit, Consumer<List<Event>> callback) {
+        read(() -> database.getNewestEvents(projectId, limit), callback);
+    }
+
+    public void readEventsBefore(String projectId, String timestamp, String eventId, int limit,
+                                 Consumer<List<Event>> callback) {
+        read(() -> database.getEventsBefore(projectId, timestamp, eventId, limit), callback);
+    }
+
+    // Write-through of network results
+
+    public void saveProjects(List<Project> projects) {
+        diskExecutor.execute(() -> database.upsertProjects(projects));
+    }
+
+    public void saveStats(String projectId, ProjectStats stats) {
+        diskExecutor.execute(() -> database.upsertStats(projectId, stats));
+    }
+
+    public void saveEvents(String projectId, List<Event> events) {
+        diskExecutor.execute(() -> database.insertEvents(projectId, events));
+    }
+
+    public void removeProject(String projectId) {
+        diskExecutor.execute(() -> database.deleteProject(projectId));
+    }
+
+    /**
+     * Pull every project changed since the last sync into the local copy.
+     * Overlapping requests are coalesced, and a sync that completed in
+     * the last MIN_SYNC_INTERVAL_MS is reused.
+     */
+    public void syncProjects() {
+        synchronized (this) {
+            if (syncingProjects) return;
+            if (SystemClock.elapsedRealtime() - lastProjectSync < MIN_SYNC_INTERVAL_MS) return;
+            syncingProjects = true;
+        }
+
+        syncExecutor.execute(() -> {
+            try {
+                String since = database.getSyncValue(KEY_PROJECTS_UPDATED_AT);
+                String afterId = database.getSyncValue(KEY_PROJECTS_AFTER_ID);
+                if (since == null) since = EPOCH;
+
+                int limit = NetworkMonitor.getMode().pageSize(SYNC_PAGE_SIZE);
+                List<Project> page;
+                do {
+                    Response<List<Project>> response = ApiClient.getApiService()
+                            .getProjectsUpdatedSince(since, afterId, limit)
+                            .execute();
+                    if (!response.isSuccessful() || response.body() == null) return;
+
+                    page = response.body();
+                    if (page.isEmpty()) break;
+
+                    database.upsertProjects(page);
+                    Project last = page.get(page.size() - 1);
+                    since = last.getUpdatedAt();
+                    afterId = last.getId();
+                    database.putSyncValue(KEY_PROJECTS_UPDATED_AT, since);
+                    database.putSyncValue(KEY_PROJECTS_AFTER_ID, afterId);
+                } while (page.size() == limit);
+
+                synchronized (this) {
+                    lastProjectSync = SystemClock.elapsedRealtime();
+                }
+            } catch (IOException | RuntimeException e) {
+                // Offline or server error: keep the cursor and retry next time
+            } finally {
+                synchronized (this) {
+                    syncingProjects = false;
+                }
+            }
+        });
+    }
+
+    private <T> void read(Callable<T> query, Consumer<T> callback) {
+        diskExecutor.execute(() -> {
+            T result;
+            try {
+                result = query.call();
+            } catch (Exception e) {
+                result = null;
+            }
+            T delivered = result;
+            mainHandler.post(() -> callback.accept(delivered));
+        });
+    }
+}
@@ -0,0 +1,40 @@
+package com.softsmith.maker;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+
+import okhttp3.RequestBody;
+import okhttp3.ResponseBody;
+import retrofit2.Converter;
+import retrofit2.Retrofit;
+
+/**
+ * Wraps the next response converter to time decoding into NetworkMetrics.
+ * Gson reads the body as it parses, so DECODE overlaps the tail of BODY.
+ */
+public final class TimingConverterFactory extends Converter.Factory {
+
+    @Override
+    public Converter<ResponseBody, ?> responseBodyConverter(Type type, Annotation[] annotations,
+                                                            Retrofit retrofit) {
+        Converter<ResponseBody, ?> delegate = retrofit.nextResponseBodyConverter(this, type, annotations);
+        LatencyHistogram decode = NetworkMetrics.endpoint(NetworkMetrics.keyOf(annotations))
+                .get(NetworkMetrics.Phase.DECODE);
+
+        return body -> {
+            long start = System.nanoTime();
+            try {
+                return delegate.convert(body);
+            } finally {
+                decode.recordNanos(System.nanoTime() - start);
+            }
+        };
+    }
+
+    @Override
+    public Converter<?, RequestBody> requestBodyConverter(Type type, Annotation[] parameterAnnotations,
+                                                          Annotation[] methodAnnotations,
+                                                          Retrofit retrofit) {
+        return null;
+    }
+}
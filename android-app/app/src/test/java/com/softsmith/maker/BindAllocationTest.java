@@ -0,0 +1,118 @@
+package com.softsmith.maker;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeTrue;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Steady-state row binding must not allocate: the display strings the
+ * adapters bind are formatted once per model change and then reused.
+ */
+public class BindAllocationTest {
+
+    private static final int ROWS = 200;
+    private static final int PASSES = 500;
+    // Slack for the measurement itself and incidental JIT activity
+    private static final long BUDGET_BYTES = 16 * 1024;
+
+    private com.sun.management.ThreadMXBean threads;
+
+    @Before
+    public void setUp() {
+        java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        assumeTrue("Allocation counting unsupported on this JVM",
+                bean instanceof com.sun.management.ThreadMXBean);
+        threads = (com.sun.management.ThreadMXBean) bean;
+        assumeTrue(threads.isThreadAllocatedMemorySupported());
+        threads.setThreadAllocatedMemoryEnabled(true);
+    }
+
+    private long allocatedBytes() {
+        return threads.getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+    @Test
+    public void rebindingEventRowsAllocatesNothing() {
+        List<Event> events = new ArrayList<>();
+        for (int i = 0; i < ROWS; i++) {
+            Event event = new Event();
+            event.setId(String.format("00000000-0000-0000-0000-%012d", i));
+            event.setTimestamp(String.format("2026-01-01T00:%02d:%02d.%06d", i / 60, i % 60, i));
+            event.setLevel(i % 3 == 0 ? "error" : "info");
+            event.setMessage("Task " + i + " finished");
+            event.setSource("worker");
+            events.add(event);
+        }
+        EventStore store = EventStore.of(events, new EventStore.Dictionaries());
+
+        int length = bindEvents(store);
+        long before = allocatedBytes();
+        for (int pass = 0; pass < PASSES; pass++) {
+            length += bindEvents(store);
+        }
+        long allocated = allocatedBytes() - before;
+
+        assertTrue(length > 0);
+        assertTrue("Rebinding allocated " + allocated + " bytes", allocated < BUDGET_BYTES);
+    }
+
+    @Test
+    public void rebindingProjectRowsAllocatesNothing() {
+        List<Project> projects = new ArrayList<>();
+        for (int i = 0; i < ROWS; i++) {
+            Project project = new Project();
+            project.setName("Project " + i);
+            project.setStatus("running");
+            project.setTotalTasks(ROWS);
+            project.setCompletedTasks(i);
+            projects.add(project);
+        }
+
+        int length = bindProjects(projects);
+        long before = allocatedBytes();
+        for (int pass = 0; pass < PASSES; pass++) {
+            length += bindProjects(projects);
+        }
+        long allocated = allocatedBytes() - before;
+
+        assertTrue(length > 0);
+        assertTrue("Rebinding allocated " + allocated + " bytes", allocated < BUDGET_BYTES);
+    }
+
+    @Test
+    public void projectSubtitleIsReformattedAfterAChange() {
+        Project project = new Project();
+        project.setStatus("running");
+        project.setTotalTasks(4);
+        project.setCompletedTasks(1);
+        assertEquals("Status: running | Progress: 25%", project.getDisplaySubtitle());
+
+        project.setCompletedTasks(2);
+        assertEquals("Status: running | Progress: 50%", project.getDisplaySubtitle());
+    }
+
+    // What EventViewHolder.bind and ProjectViewHolder.bind hand to their TextViews
+    private static int bindEvents(EventStore store) {
+        int length = 0;
+        for (int row = 0; row < store.size(); row++) {
+            length += store.displayTitle(row).length() + store.displayTimestamp(row).length();
+        }
+        return length;
+    }
+
+    private static int bindProjects(List<Project> projects) {
+        int length = 0;
+        for (int i = 0; i < projects.size(); i++) {
+            Project project = projects.get(i);
+            length += project.getName().length() + project.getDisplaySubtitle().length();
+        }
+        return length;
+    }
+}
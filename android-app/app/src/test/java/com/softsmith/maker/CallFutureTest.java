@@ -0,0 +1,91 @@
+package com.softsmith.maker;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import okhttp3.OkHttpClient;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import retrofit2.HttpException;
+import retrofit2.Retrofit;
+import retrofit2.converter.gson.GsonConverterFactory;
+import retrofit2.http.GET;
+
+public class CallFutureTest {
+
+    interface Service {
+        @GET("projects/p1")
+        CompletableFuture<Project> getProject();
+    }
+
+    private final MockWebServer server = new MockWebServer();
+    private final OkHttpClient client = new OkHttpClient();
+    private Service service;
+
+    @Before
+    public void setUp() throws IOException {
+        server.start();
+        service = new Retrofit.Builder()
+                .baseUrl(server.url("/"))
+                .client(client)
+                .addConverterFactory(GsonConverterFactory.create())
+                .addCallAdapterFactory(CallFuture.FACTORY)
+                .build()
+                .create(Service.class);
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        server.shutdown();
+    }
+
+    @Test
+    public void completesWithTheBodyAndExposesTheRequest() throws Exception {
+        server.enqueue(new MockResponse().setBody("{\"id\":\"p1\"}"));
+
+        CompletableFuture<Project> future = service.getProject();
+
+        assertTrue(future instanceof CallFuture);
+        assertEquals("/projects/p1",
+                ((CallFuture<?>) future).getRequests().get(0).url().encodedPath());
+        assertEquals("p1", future.get(5, TimeUnit.SECONDS).getId());
+    }
+
+    @Test
+    public void failsWithHttpException() throws Exception {
+        server.enqueue(new MockResponse().setResponseCode(503));
+
+        try {
+            service.getProject().get(5, TimeUnit.SECONDS);
+        } catch (ExecutionException e) {
+            assertTrue(String.valueOf(e.getCause()), e.getCause() instanceof HttpException);
+            assertEquals(503, ((HttpException) e.getCause()).code());
+            return;
+        }
+        throw new AssertionError("expected an HttpException");
+    }
+
+    @Test
+    public void cancelingTheFutureCancelsTheCall() throws Exception {
+        server.enqueue(new MockResponse().setBody("{}").setHeadersDelay(5, TimeUnit.SECONDS));
+
+        CompletableFuture<Project> future = service.getProject();
+        server.takeRequest(5, TimeUnit.SECONDS);
+        assertTrue(future.cancel(true));
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (client.dispatcher().runningCallsCount() > 0) {
+            assertTrue("call still running", System.nanoTime() < deadline);
+            Thread.sleep(10);
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.softsmith.maker;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import okhttp3.HttpUrl;
+import okhttp3.Request;
+
+public class CircuitBreakerTest {
+
+    private static ApiClient.Backend backend(String name, String group, String url) {
+        return new ApiClient.Backend(name, group, HttpUrl.get(url), null, null);
+    }
+
+    private final List<ApiClient.Backend> backends = Arrays.asList(
+            backend("primary", "primary", "http://primary:8000/"),
+            backend("replica", "primary", "http://replica:8000/"),
+            backend("staging", "staging", "http://staging:8000/api/"));
+
+    private String keyOf(String url) {
+        return CircuitBreaker.keyOf(new Request.Builder().url(url).build(), backends);
+    }
+
+    @Test
+    public void separatesBreakersPerReplicaGroup() {
+        assertEquals("primary other", keyOf("http://primary:8000/projects"));
+        assertEquals(keyOf("http://primary:8000/projects"), keyOf("http://replica:8000/projects"));
+        assertEquals("staging other", keyOf("http://staging:8000/api/projects"));
+        assertNotEquals(keyOf("http://primary:8000/projects"),
+                keyOf("http://staging:8000/api/projects"));
+    }
+
+    @Test
+    public void keysUnregisteredUrlsByHost() {
+        assertEquals("elsewhere:443 other", keyOf("https://elsewhere/projects"));
+    }
+}
@@ -0,0 +1,304 @@
+package com.softsmith.maker;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BooleanSupplier;
+
+import okhttp3.Call;
+import okhttp3.Callback;
+import okhttp3.Interceptor;
+import okhttp3.MediaType;
+import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import retrofit2.Invocation;
+
+public class ConcurrencyLimiterTest {
+
+    /** Methods carrying each class's @Priority, as ApiService methods do */
+    interface Calls {
+        @Priority(CallPriority.INTERACTIVE) void interactive();
+        @Priority(CallPriority.VISIBLE_REFRESH) void visibleRefresh();
+        @Priority(CallPriority.PREFETCH) void prefetch();
+        @Priority(CallPriority.BACKGROUND_SYNC) void backgroundSync();
+    }
+
+    private static final long TIMEOUT_S = 5;
+
+    private final List<String> served = new CopyOnWriteArrayList<>();
+    private volatile CountDownLatch gate = new CountDownLatch(0);
+    private volatile long latencyMs;
+    // Fake clock for limiters built on it; each call advances it by clockStepMs
+    private final AtomicLong clockNanos = new AtomicLong(TimeUnit.HOURS.toNanos(1));
+    private volatile long clockStepMs;
+    private volatile int code = 200;
+
+    private OkHttpClient client(ConcurrencyLimiter limiter) {
+        okhttp3.Dispatcher dispatcher = new okhttp3.Dispatcher();
+        dispatcher.setMaxRequests(64);
+        dispatcher.setMaxRequestsPerHost(64);
+        // Stands in for the network: records arrival order, then waits on the gate
+        Interceptor standIn = chain -> {
+            served.add(chain.request().url().encodedPath());
+            try {
+                gate.await(TIMEOUT_S, TimeUnit.SECONDS);
+                if (latencyMs > 0) Thread.sleep(latencyMs);
+                clockNanos.addAndGet(TimeUnit.MILLISECONDS.toNanos(clockStepMs));
+            } catch (InterruptedException e) {
+                throw new IOException(e);
+            }
+            return new Response.Builder()
+                    .request(chain.request())
+                    .protocol(Protocol.HTTP_1_1)
+                    .code(code)
+                    .message("")
+                    .body(ResponseBody.create("", MediaType.get("text/plain")))
+                    .build();
+        };
+        return new OkHttpClient.Builder()
+                .dispatcher(dispatcher)
+                .addInterceptor(limiter)
+                .addInterceptor(standIn)
+                .build();
+    }
+
+    private static Request request(CallPriority priority) throws NoSuchMethodException {
+        String name = priority.name().toLowerCase();
+        return new Request.Builder()
+                .url("http://localhost/" + name)
+                .tag(Invocation.class, Invocation.of(Calls.class.getMethod(methodName(priority)),
+                        Collections.emptyList()))
+                .post(RequestBody.create("", MediaType.get("text/plain")))
+                .build();
+    }
+
+    private static String methodName(CallPriority priority) {
+        switch (priority) {
+            case INTERACTIVE: return "interactive";
+            case VISIBLE_REFRESH: return "visibleRefresh";
+            case PREFETCH: return "prefetch";
+            default: return "backgroundSync";
+        }
+    }
+
+    /** Collects the outcome of an enqueued call */
+    private static final class Result implements Callback {
+        final CountDownLatch done = new CountDownLatch(1);
+        volatile IOException failure;
+        volatile int code;
+
+        @Override
+        public void onFailure(Call call, IOException e) {
+            failure = e;
+            done.countDown();
+        }
+
+        @Override
+        public void onResponse(Call call, Response response) {
+            code = response.code();
+            response.close();
+            done.countDown();
+        }
+
+        void await() throws InterruptedException {
+            assertTrue("call did not finish", done.await(TIMEOUT_S, TimeUnit.SECONDS));
+        }
+    }
+
+    private static void awaitCondition(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(TIMEOUT_S);
+        while (!condition.getAsBoolean()) {
+            assertTrue("condition not reached", System.nanoTime() < deadline);
+            Thread.sleep(2);
+        }
+    }
+
+    private Result enqueue(OkHttpClient client, CallPriority priority) throws Exception {
+        Result result = new Result();
+        client.newCall(request(priority)).enqueue(result);
+        return result;
+    }
+
+    /** Run calls from several threads at once until count have completed */
+    private static void runConcurrently(OkHttpClient client, Request request, int threads, int count)
+            throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < count; i++) {
+                futures.add(executor.submit(() -> {
+                    client.newCall(request).execute().close();
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get(TIMEOUT_S * 4, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void growsWhileSaturatedAndLatencyHolds() throws Exception {
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter(1, 4, 32, () -> false);
+        latencyMs = 2;
+
+        runConcurrently(client(limiter), request(CallPriority.VISIBLE_REFRESH), 32, 400);
+
+        // Scheduling jitter may cause the odd cut, but growth wins while latency holds
+        assertTrue("limit " + limiter.getLimit(), limiter.getLimit() > 4);
+        assertEquals(0, limiter.getInFlight());
+    }
+
+    @Test
+    public void backsOffOnServerErrors() throws Exception {
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter(2, 16, 32, () -> false);
+        OkHttpClient client = client(limiter);
+        latencyMs = 2;
+        code = 503;
+
+        for (int i = 0; i < 20; i++) {
+            client.newCall(request(CallPriority.VISIBLE_REFRESH)).execute().close();
+        }
+
+        assertTrue(limiter.getBackoffCount() > 0);
+        assertTrue("limit " + limiter.getLimit(), limiter.getLimit() < 16);
+        assertTrue(limiter.getLimit() >= 2);
+    }
+
+    @Test
+    public void backsOffOnceWhenLatencyJumps() throws Exception {
+        ConcurrencyLimiter limiter =
+                new ConcurrencyLimiter(1, 10, 32, () -> false, clockNanos::get);
+        OkHttpClient client = client(limiter);
+        clockStepMs = 5;
+        for (int i = 0; i < 10; i++) {
+            client.newCall(request(CallPriority.VISIBLE_REFRESH)).execute().close();
+        }
+        int settled = limiter.getLimit();
+        assertEquals(0, limiter.getBackoffCount());
+
+        clockStepMs = 60;
+        client.newCall(request(CallPriority.VISIBLE_REFRESH)).execute().close();
+
+        assertEquals(1, limiter.getBackoffCount());
+        assertEquals((int) (settled * ConcurrencyLimiter.BACKOFF), limiter.getLimit());
+    }
+
+    @Test
+    public void runsQueuedCallsInPriorityOrder() throws Exception {
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter(1, 1, 1, () -> false);
+        OkHttpClient client = client(limiter);
+        gate = new CountDownLatch(1);
+
+        Result running = enqueue(client, CallPriority.VISIBLE_REFRESH);
+        awaitCondition(() -> served.size() == 1);
+
+        List<Result> queued = new ArrayList<>();
+        CallPriority[] order = {CallPriority.BACKGROUND_SYNC, CallPriority.VISIBLE_REFRESH,
+                CallPriority.BACKGROUND_SYNC, CallPriority.INTERACTIVE};
+        for (CallPriority priority : order) {
+            int length = limiter.getQueueLength();
+            queued.add(enqueue(client, priority));
+            awaitCondition(() -> limiter.getQueueLength() == length + 1);
+        }
+        gate.countDown();
+
+        running.await();
+        for (Result result : queued) {
+            result.await();
+            assertEquals(200, result.code);
+        }
+        assertEquals(Arrays.asList("/visible_refresh", "/interactive", "/visible_refresh",
+                "/background_sync", "/background_sync"), served);
+    }
+
+    @Test
+    public void dropsACallCanceledWhileQueued() throws Exception {
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter(1, 1, 1, () -> false);
+        OkHttpClient client = client(limiter);
+        gate = new CountDownLatch(1);
+
+        Result running = enqueue(client, CallPriority.VISIBLE_REFRESH);
+        awaitCondition(() -> served.size() == 1);
+
+        Result canceled = new Result();
+        Call call = client.newCall(request(CallPriority.VISIBLE_REFRESH));
+        call.enqueue(canceled);
+        awaitCondition(() -> limiter.getQueueLength() == 1);
+        call.cancel();
+
+        canceled.await();
+        assertTrue(canceled.failure != null);
+        assertEquals(0, limiter.getQueueLength());
+        assertEquals(1, limiter.getInFlight());
+
+        gate.countDown();
+        running.await();
+        awaitCondition(() -> limiter.getInFlight() == 0);
+        assertEquals(1, served.size());
+    }
+
+    @Test
+    public void preemptsQueuedPrefetchesForMoreUrgentCalls() throws Exception {
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter(1, 1, 1, () -> false);
+        OkHttpClient client = client(limiter);
+        gate = new CountDownLatch(1);
+
+        Result running = enqueue(client, CallPriority.VISIBLE_REFRESH);
+        awaitCondition(() -> served.size() == 1);
+        Result prefetch = enqueue(client, CallPriority.PREFETCH);
+        awaitCondition(() -> limiter.getQueueLength() == 1);
+
+        Result refresh = enqueue(client, CallPriority.VISIBLE_REFRESH);
+
+        prefetch.await();
+        assertTrue(String.valueOf(prefetch.failure),
+                prefetch.failure instanceof ConcurrencyLimiter.PreemptedException);
+        assertEquals(1, limiter.getPreemptedCount());
+
+        gate.countDown();
+        running.await();
+        refresh.await();
+        assertEquals(200, refresh.code);
+        assertEquals(Arrays.asList("/visible_refresh", "/visible_refresh"), served);
+    }
+
+    @Test
+    public void holdsBackgroundSyncWhileInteractiveWorkRuns() throws Exception {
+        AtomicBoolean interactiveBusy = new AtomicBoolean(true);
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter(4, 4, 4, interactiveBusy::get);
+        OkHttpClient client = client(limiter);
+
+        Result sync = enqueue(client, CallPriority.BACKGROUND_SYNC);
+        awaitCondition(() -> limiter.getQueueLength() == 1);
+        Result refresh = enqueue(client, CallPriority.VISIBLE_REFRESH);
+        refresh.await();
+        assertFalse(sync.done.await(200, TimeUnit.MILLISECONDS));
+
+        interactiveBusy.set(false);
+        sync.await();
+        assertEquals(200, sync.code);
+    }
+}
@@ -0,0 +1,53 @@
+package com.softsmith.maker;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+public class EventCursorTest {
+
+    private static Event event(String id, String timestamp) {
+        Event event = new Event();
+        event.setId(id);
+        event.setTimestamp(timestamp);
+        return event;
+    }
+
+    @Test
+    public void emptyCursorAcceptsAnything() {
+        EventCursor cursor = new EventCursor();
+        assertTrue(cursor.isEmpty());
+        assertTrue(cursor.isBefore(event("a", "2026-01-01T00:00:00")));
+    }
+
+    @Test
+    public void ordersByMicrosThenId() {
+        EventCursor cursor = new EventCursor();
+        cursor.advance(event("b", "2026-01-01T00:00:00.000500"));
+
+        assertFalse(cursor.isBefore(event("b", "2026-01-01T00:00:00.000500")));
+        assertFalse(cursor.isBefore(event("a", "2026-01-01T00:00:00.000500")));
+        assertTrue(cursor.isBefore(event("c", "2026-01-01T00:00:00.000500")));
+        assertFalse(cursor.isBefore(event("z", "2026-01-01T00:00:00.0004")));
+        assertTrue(cursor.isBefore(event("a", "2026-01-01T00:00:00.000501")));
+        // isoformat() drops a zero fraction; both spellings are the same instant
+        cursor.advance(event("m", "2026-01-01T00:00:01"));
+        assertFalse(cursor.isBefore(event("m", "2026-01-01T00:00:01.000000")));
+    }
+
+    @Test
+    public void advanceOnlyMovesForward() {
+        EventCursor cursor = new EventCursor();
+        cursor.advance(event("b", "2026-01-01T00:00:02"));
+        cursor.advance(event("a", "2026-01-01T00:00:01"));
+        cursor.advance(event("a", "2026-01-01T00:00:02"));
+
+        assertEquals("2026-01-01T00:00:02", cursor.getTimestamp());
+        assertEquals("b", cursor.getEventId());
+
+        cursor.advance(event("c", "2026-01-01T00:00:02"));
+        assertEquals("c", cursor.getEventId());
+    }
+}
@@ -0,0 +1,47 @@
+package com.softsmith.maker;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class EventStoreTest {
+
+    private static Event event(int i, String level) {
+        Event event = new Event();
+        event.setId(String.format("00000000-0000-0000-0000-%012d", i));
+        event.setTimestamp("2026-01-01T00:00:00." + String.format("%06d", i));
+        event.setLevel(level);
+        event.setMessage("message " + i);
+        event.setSource("source");
+        return event;
+    }
+
+    @Test
+    public void keepsMoreLevelsThanFitInAByte() {
+        List<Event> events = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            events.add(event(i, "level" + i));
+        }
+        EventStore store = EventStore.of(events, new EventStore.Dictionaries());
+
+        for (int i = 0; i < 300; i++) {
+            assertEquals("level" + i, store.level(i));
+        }
+    }
+
+    @Test
+    public void displayStringsAreFormattedOncePerRow() {
+        List<Event> events = new ArrayList<>();
+        events.add(event(42, "info"));
+        EventStore store = EventStore.of(events, new EventStore.Dictionaries());
+
+        assertEquals("[info] message 42", store.displayTitle(0));
+        assertEquals("2026-01-01T00:00:00.000042", store.displayTimestamp(0));
+        assertSame(store.displayTitle(0), store.displayTitle(0));
+        assertSame(store.displayTimestamp(0), store.displayTimestamp(0));
+    }
+}
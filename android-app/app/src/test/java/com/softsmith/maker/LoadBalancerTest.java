@@ -0,0 +1,176 @@
+package com.softsmith.maker;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.After;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TestName;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import okhttp3.MediaType;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import okhttp3.Response;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+
+/**
+ * Routing across local MockWebServer stand-ins with injected latency
+ */
+public class LoadBalancerTest {
+
+    @Rule
+    public final TestName testName = new TestName();
+
+    private final List<MockWebServer> servers = new ArrayList<>();
+    private final List<ApiClient.Backend> backends = new ArrayList<>();
+    private final OkHttpClient client = new OkHttpClient.Builder()
+            .addInterceptor(chain -> LoadBalancer.route(chain, backends))
+            .build();
+
+    @After
+    public void tearDown() throws IOException {
+        for (MockWebServer server : servers) {
+            server.shutdown();
+        }
+    }
+
+    /** A stand-in answering every request after the given delay */
+    private MockWebServer server(long delayMs, int code) throws IOException {
+        MockWebServer server = new MockWebServer();
+        server.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) {
+                return new MockResponse()
+                        .setResponseCode(code)
+                        .setBody("{}")
+                        .setHeadersDelay(delayMs, TimeUnit.MILLISECONDS);
+            }
+        });
+        server.start();
+        servers.add(server);
+        return server;
+    }
+
+    // Stats are kept per backend name, so names are unique to each test
+    private ApiClient.Backend backend(String name, String group, MockWebServer server) {
+        ApiClient.Backend backend = new ApiClient.Backend(testName.getMethodName() + "-" + name,
+                testName.getMethodName() + "-" + group, server.url("/api/"), null, null);
+        backends.add(backend);
+        return backend;
+    }
+
+    private int get(ApiClient.Backend target) throws IOException {
+        Request request = new Request.Builder().url(target.getUrl().resolve("projects")).build();
+        try (Response response = client.newCall(request).execute()) {
+            return response.code();
+        }
+    }
+
+    @Test
+    public void prefersTheFasterReplica() throws Exception {
+        MockWebServer slow = server(150, 200);
+        MockWebServer fast = server(0, 200);
+        ApiClient.Backend primary = backend("slow", "group", slow);
+        backend("fast", "group", fast);
+
+        for (int i = 0; i < 30; i++) {
+            assertEquals(200, get(primary));
+        }
+
+        assertTrue("slow got " + slow.getRequestCount() + ", fast got " + fast.getRequestCount(),
+                fast.getRequestCount() > slow.getRequestCount() * 3);
+        assertEquals("/api/projects", fast.takeRequest().getPath());
+    }
+
+    @Test
+    public void neverLeavesTheSelectedBackendsGroup() throws IOException {
+        MockWebServer selected = server(150, 200);
+        MockWebServer other = server(0, 200);
+        ApiClient.Backend target = backend("selected", "selected", selected);
+        backend("other", "other", other);
+
+        for (int i = 0; i < 10; i++) {
+            assertEquals(200, get(target));
+        }
+
+        assertEquals(10, selected.getRequestCount());
+        assertEquals(0, other.getRequestCount());
+    }
+
+    @Test
+    public void failsOverFromADeadReplica() throws IOException {
+        MockWebServer dead = server(0, 200);
+        MockWebServer alive = server(0, 200);
+        ApiClient.Backend primary = backend("dead", "group", dead);
+        backend("alive", "group", alive);
+        dead.shutdown();
+
+        assertEquals(200, get(primary));
+
+        // Never sent, so even a POST may go elsewhere
+        Request post = new Request.Builder()
+                .url(primary.getUrl().resolve("projects"))
+                .post(RequestBody.create("{}", MediaType.get("application/json")))
+                .build();
+        try (Response response = client.newCall(post).execute()) {
+            assertEquals(200, response.code());
+        }
+        assertEquals(2, alive.getRequestCount());
+    }
+
+    @Test
+    public void retriesOnlyGetsOnServerErrors() throws IOException {
+        MockWebServer failing = server(0, 503);
+        MockWebServer healthy = server(50, 200);
+        ApiClient.Backend primary = backend("failing", "group", failing);
+        backend("healthy", "group", healthy);
+        // Make the failing node look best so it is tried first
+        LoadBalancer.getStats(testName.getMethodName() + "-healthy").record(1_000, false);
+
+        Request post = new Request.Builder()
+                .url(primary.getUrl().resolve("projects"))
+                .post(RequestBody.create("{}", MediaType.get("application/json")))
+                .build();
+        try (Response response = client.newCall(post).execute()) {
+            assertEquals(503, response.code());
+        }
+        assertEquals(0, healthy.getRequestCount());
+
+        assertEquals(200, get(primary));
+        assertEquals(2, failing.getRequestCount());
+        assertEquals(1, healthy.getRequestCount());
+    }
+
+    @Test
+    public void probesMarkUnreadyReplicasDown() throws IOException {
+        MockWebServer unready = server(0, 503);
+        MockWebServer ready = server(100, 200);
+        ApiClient.Backend primary = backend("unready", "group", unready);
+        ApiClient.Backend replica = backend("ready", "group", ready);
+        MockWebServer loner = server(0, 503);
+        ApiClient.Backend alone = backend("alone", "alone", loner);
+
+        LoadBalancer.probeReplicas(backends, new OkHttpClient());
+
+        assertFalse(LoadBalancer.getStats(primary.getName()).isHealthy());
+        assertTrue(LoadBalancer.getStats(replica.getName()).isHealthy());
+        // Without replicas there is nothing to fail over to, so it is not probed
+        assertEquals(0, loner.getRequestCount());
+        assertTrue(LoadBalancer.getStats(alone.getName()).isHealthy());
+
+        int before = unready.getRequestCount();
+        assertEquals(200, get(primary));
+        assertEquals(before, unready.getRequestCount());
+    }
+}
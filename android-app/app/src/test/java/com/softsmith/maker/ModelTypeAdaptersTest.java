@@ -0,0 +1,127 @@
+package com.softsmith.maker;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonElement;
+import com.google.gson.annotations.SerializedName;
+import com.google.gson.reflect.TypeToken;
+
+import org.junit.Test;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * The hand-written adapters must match reflective Gson field for field,
+ * so a model field added without its adapter entry fails here instead of
+ * being silently dropped.
+ */
+public class ModelTypeAdaptersTest {
+
+    private static final List<Class<?>> MODELS = Arrays.asList(
+            Project.class, Event.class, ProjectStats.class, ApiResponse.class,
+            CreateProjectRequest.class);
+
+    private final Gson reflective = new Gson();
+    private final Gson adapters = new GsonBuilder()
+            .registerTypeAdapterFactory(new ModelTypeAdapters())
+            .create();
+
+    @Test
+    public void everyModelHasAnAdapter() {
+        ModelTypeAdapters factory = new ModelTypeAdapters();
+        for (Class<?> model : MODELS) {
+            assertNotNull(model.getSimpleName(),
+                    factory.create(adapters, TypeToken.get(model)));
+        }
+    }
+
+    @Test
+    public void writesTheSameJsonAsReflection() throws Exception {
+        for (Class<?> model : MODELS) {
+            Object populated = populate(model, 1);
+            assertEquals(model.getSimpleName(),
+                    tree(reflective.toJson(populated)),
+                    tree(adapters.toJson(populated)));
+
+            Object empty = reflective.fromJson("{}", model);
+            assertEquals(model.getSimpleName() + " with defaults",
+                    tree(reflective.toJson(empty)),
+                    tree(adapters.toJson(empty)));
+        }
+    }
+
+    @Test
+    public void readsWhatReflectionWrites() throws Exception {
+        for (Class<?> model : MODELS) {
+            String json = reflective.toJson(populate(model, 2));
+            Object decoded = adapters.fromJson(json, model);
+            assertEquals(model.getSimpleName(),
+                    tree(json),
+                    tree(reflective.toJson(decoded)));
+        }
+    }
+
+    @Test
+    public void readsNullsAndUnknownFieldsLikeReflection() throws Exception {
+        for (Class<?> model : MODELS) {
+            StringBuilder json = new StringBuilder("{\"unknown\":{\"nested\":[1,2]}");
+            for (Field field : serializedFields(model)) {
+                json.append(",\"").append(field.getAnnotation(SerializedName.class).value())
+                        .append("\":null");
+            }
+            json.append('}');
+
+            JsonElement expected = reflective.toJsonTree(reflective.fromJson(json.toString(), model));
+            JsonElement actual = reflective.toJsonTree(adapters.fromJson(json.toString(), model));
+            assertEquals(model.getSimpleName(), expected, actual);
+        }
+    }
+
+    private JsonElement tree(String json) {
+        return reflective.fromJson(json, JsonElement.class);
+    }
+
+    // Distinct, non-default values for every serialized field
+    private Object populate(Class<?> model, int seed) throws Exception {
+        Object instance = reflective.fromJson("{}", model);
+        int n = seed;
+        for (Field field : serializedFields(model)) {
+            n++;
+            Class<?> type = field.getType();
+            if (type == String.class) {
+                field.set(instance, field.getName() + "-" + n);
+            } else if (type == int.class) {
+                field.setInt(instance, n * 7);
+            } else if (type == long.class) {
+                field.setLong(instance, n * 7L);
+            } else if (type == float.class) {
+                field.setFloat(instance, n + 0.5f);
+            } else if (type == double.class) {
+                field.setDouble(instance, n + 0.25);
+            } else if (type == boolean.class) {
+                field.setBoolean(instance, true);
+            } else {
+                throw new AssertionError("Unhandled field type " + type + " in " + model);
+            }
+        }
+        return instance;
+    }
+
+    private static List<Field> serializedFields(Class<?> model) {
+        List<Field> fields = new ArrayList<>();
+        for (Field field : model.getDeclaredFields()) {
+            int modifiers = field.getModifiers();
+            if (Modifier.isStatic(modifiers) || Modifier.isTransient(modifiers)) continue;
+            field.setAccessible(true);
+            fields.add(field);
+        }
+        return fields;
+    }
+}
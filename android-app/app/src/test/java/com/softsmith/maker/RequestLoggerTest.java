@@ -0,0 +1,91 @@
+package com.softsmith.maker;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import okhttp3.MediaType;
+import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+
+public class RequestLoggerTest {
+
+    private static final MediaType TEXT = MediaType.get("text/plain");
+
+    private final List<String> logged = new CopyOnWriteArrayList<>();
+
+    private OkHttpClient client(RequestLogger logger) {
+        // Answers every call itself, standing in for the network
+        return new OkHttpClient.Builder()
+                .addInterceptor(logger)
+                .addInterceptor(chain -> new Response.Builder()
+                        .request(chain.request())
+                        .protocol(Protocol.HTTP_1_1)
+                        .code(200)
+                        .message("OK")
+                        .body(ResponseBody.create(repeat('r', 10_000), TEXT))
+                        .build())
+                .build();
+    }
+
+    private String awaitEntry() throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (logged.isEmpty() && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertEquals(1, logged.size());
+        return logged.get(0);
+    }
+
+    @Test
+    public void capsRequestAndResponseBodies() throws Exception {
+        RequestLogger logger = new RequestLogger(RequestLogger.Level.BODY, 1.0, 16, logged::add);
+        Request request = new Request.Builder()
+                .url("http://localhost/projects")
+                .post(RequestBody.create(repeat('q', 1_000_000), TEXT))
+                .build();
+
+        client(logger).newCall(request).execute().close();
+
+        String entry = awaitEntry();
+        assertTrue(entry, entry.contains("\n> " + repeat('q', 16) + "... (1000000 bytes)"));
+        assertTrue(entry, entry.endsWith("\n< " + repeat('r', 16)));
+    }
+
+    @Test
+    public void keepsSmallBodiesWhole() throws Exception {
+        RequestLogger logger = new RequestLogger(RequestLogger.Level.BODY, 1.0, 16, logged::add);
+        Request request = new Request.Builder()
+                .url("http://localhost/projects")
+                .post(RequestBody.create("{\"name\":\"x\"}", TEXT))
+                .build();
+
+        client(logger).newCall(request).execute().close();
+
+        assertTrue(awaitEntry().contains("\n> {\"name\":\"x\"}\n"));
+    }
+
+    @Test
+    public void skipsUnsampledCalls() throws Exception {
+        RequestLogger logger = new RequestLogger(RequestLogger.Level.BODY, 0.0, 16, logged::add);
+        client(logger).newCall(new Request.Builder().url("http://localhost/").build()).execute().close();
+
+        Thread.sleep(50);
+        assertTrue(logged.isEmpty());
+    }
+
+    private static String repeat(char c, int count) {
+        StringBuilder sb = new StringBuilder(count);
+        for (int i = 0; i < count; i++) sb.append(c);
+        return sb.toString();
+    }
+}
@@ -0,0 +1,89 @@
+package com.softsmith.maker;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The strings ProjectAdapter and EventAdapter bind per row: the original
+ * String.format calls, the ModelFormatter builders, and the cached
+ * display strings a steady-state rebind uses. Each op binds one
+ * screenful of rows.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class BindBenchmark {
+
+    private static final int ROWS = 20;
+
+    private List<Project> projects;
+    private List<Event> events;
+    private EventStore store;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        projects = Payloads.projects(ROWS);
+        events = Payloads.events(ROWS);
+        store = EventStore.of(events, new EventStore.Dictionaries());
+        for (int i = 0; i < ROWS; i++) {
+            projects.get(i).getDisplaySubtitle();
+            store.displayTitle(i);
+            store.displayTimestamp(i);
+        }
+    }
+
+    @Benchmark
+    public void projectSubtitleStringFormat(Blackhole bh) {
+        for (Project project : projects) {
+            bh.consume(String.format("Status: %s | Progress: %d%%",
+                    project.getStatus(), project.getProgressPercentage()));
+        }
+    }
+
+    @Benchmark
+    public void projectSubtitleFormatter(Blackhole bh) {
+        for (Project project : projects) {
+            bh.consume(ModelFormatter.projectSubtitle(project));
+        }
+    }
+
+    @Benchmark
+    public void projectSubtitleCached(Blackhole bh) {
+        for (Project project : projects) {
+            bh.consume(project.getDisplaySubtitle());
+        }
+    }
+
+    @Benchmark
+    public void eventTitleStringFormat(Blackhole bh) {
+        for (Event event : events) {
+            bh.consume(String.format("[%s] %s", event.getLevel(), event.getMessage()));
+        }
+    }
+
+    @Benchmark
+    public void eventTitleFormatter(Blackhole bh) {
+        for (int row = 0; row < ROWS; row++) {
+            bh.consume(ModelFormatter.eventTitle(store.level(row), store.message(row)));
+            bh.consume(store.timestamp(row));
+        }
+    }
+
+    @Benchmark
+    public void eventTitleCached(Blackhole bh) {
+        for (int row = 0; row < ROWS; row++) {
+            bh.consume(store.displayTitle(row));
+            bh.consume(store.displayTimestamp(row));
+        }
+    }
+}
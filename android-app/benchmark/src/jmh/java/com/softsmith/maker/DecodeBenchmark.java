@@ -0,0 +1,61 @@
+package com.softsmith.maker;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.reflect.TypeToken;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.lang.reflect.Type;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Decoding list payloads as ApiService receives them, with the
+ * reflection-free ModelTypeAdapters against plain reflective Gson
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class DecodeBenchmark {
+
+    private static final Type PROJECT_LIST = new TypeToken<List<Project>>() {}.getType();
+    private static final Type EVENT_LIST = new TypeToken<List<Event>>() {}.getType();
+
+    @Param({"100", "1000", "10000", "100000"})
+    public int size;
+
+    @Param({"adapters", "reflective"})
+    public String decoder;
+
+    private Gson gson;
+    private String projectsJson;
+    private String eventsJson;
+
+    @Setup
+    public void setUp() {
+        Gson reflective = new Gson();
+        projectsJson = reflective.toJson(Payloads.projects(size));
+        eventsJson = reflective.toJson(Payloads.events(size));
+        gson = "adapters".equals(decoder)
+                ? new GsonBuilder().registerTypeAdapterFactory(new ModelTypeAdapters()).create()
+                : reflective;
+    }
+
+    @Benchmark
+    public List<Project> decodeProjects() {
+        return gson.fromJson(projectsJson, PROJECT_LIST);
+    }
+
+    @Benchmark
+    public List<Event> decodeEvents() {
+        return gson.fromJson(eventsJson, EVENT_LIST);
+    }
+}
@@ -0,0 +1,69 @@
+package com.softsmith.maker;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jol.info.GraphLayout;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Retained heap of 1M events held as a List of Event objects against the
+ * same events in an EventStore. The result to read is the bytesPerEvent
+ * counter: everything reachable from the holder, including strings and
+ * dictionaries, divided by the number of events. The time is only that
+ * of building and walking the graph once.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 0)
+@Measurement(iterations = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+public class FootprintBenchmark {
+
+    private static final int EVENTS = 1_000_000;
+
+    private List<Event> events;
+
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    public static class Footprint {
+        public long bytesPerEvent;
+        public long retainedMegabytes;
+
+        void measure(Object holder) {
+            long bytes = GraphLayout.parseInstance(holder).totalSize();
+            bytesPerEvent = bytes / EVENTS;
+            retainedMegabytes = bytes >> 20;
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        events = Payloads.events(EVENTS);
+    }
+
+    @Benchmark
+    public Object eventList(Footprint footprint) {
+        footprint.measure(events);
+        return events;
+    }
+
+    @Benchmark
+    public Object eventStore(Footprint footprint) {
+        EventStore store = EventStore.of(events, new EventStore.Dictionaries());
+        footprint.measure(store);
+        return store;
+    }
+}
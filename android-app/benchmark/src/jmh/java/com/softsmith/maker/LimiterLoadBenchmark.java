@@ -0,0 +1,107 @@
+package com.softsmith.maker;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+
+/**
+ * Closed-loop load against a local stand-in server that thrashes when
+ * overloaded, comparing the adaptive ConcurrencyLimiter with static limits.
+ *
+ * The server handles CAPACITY requests in SERVICE_MS; beyond that every
+ * request slows down with the square of the overload, as a backend does
+ * once it contends for CPU and connections. A low static limit leaves it
+ * idle, a high one drives it into thrashing; the adaptive limit should
+ * find the knee and beat both on throughput and tail latency. Warmup
+ * lets the adaptive limit settle.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Threads(32)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(1)
+public class LimiterLoadBenchmark {
+
+    private static final int CAPACITY = 8;
+    private static final long SERVICE_MS = 10;
+
+    @Param({"static-2", "static-32", "adaptive"})
+    public String limit;
+
+    private final AtomicInteger active = new AtomicInteger();
+    private MockWebServer server;
+    private OkHttpClient client;
+    private Request request;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        server = new MockWebServer();
+        server.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) throws InterruptedException {
+                int load = active.incrementAndGet();
+                try {
+                    double overload = Math.max(1.0, load / (double) CAPACITY);
+                    Thread.sleep((long) (SERVICE_MS * overload * overload));
+                    return new MockResponse().setBody("{}");
+                } finally {
+                    active.decrementAndGet();
+                }
+            }
+        });
+        server.start();
+
+        client = new OkHttpClient.Builder()
+                .addInterceptor(limiter())
+                .readTimeout(30, TimeUnit.SECONDS)
+                .build();
+        request = new Request.Builder().url(server.url("/projects")).build();
+    }
+
+    private ConcurrencyLimiter limiter() {
+        switch (limit) {
+            case "static-2": return new ConcurrencyLimiter(2, 2, 2, () -> false);
+            case "static-32": return new ConcurrencyLimiter(32, 32, 32, () -> false);
+            default: return new ConcurrencyLimiter(1, 4, 32, () -> false);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        client.dispatcher().executorService().shutdown();
+        client.connectionPool().evictAll();
+        server.shutdown();
+    }
+
+    @Benchmark
+    public String call() throws IOException {
+        try (Response response = client.newCall(request).execute()) {
+            return response.body().string();
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.softsmith.maker;
+
+import com.google.gson.Gson;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import okhttp3.Interceptor;
+import okhttp3.MediaType;
+import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import okhttp3.logging.HttpLoggingInterceptor;
+
+/**
+ * Per-call overhead of request logging: RequestLogger at its debug
+ * default and at its heaviest, against the BODY-level
+ * HttpLoggingInterceptor it replaced. Calls are answered in-process
+ * with an event list, so only the logging cost is measured; log output
+ * is discarded in every case.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class LoggingBenchmark {
+
+    private static final MediaType JSON = MediaType.get("application/json");
+
+    @Param({"none", "requestLoggerHeaders", "requestLoggerBody", "httpLoggingBody"})
+    public String logging;
+
+    @Param({"100", "1000"})
+    public int events;
+
+    private OkHttpClient client;
+    private Request get;
+    private Request post;
+
+    @Setup
+    public void setUp() {
+        byte[] payload = new Gson().toJson(Payloads.events(events)).getBytes();
+        Interceptor standIn = chain -> new Response.Builder()
+                .request(chain.request())
+                .protocol(Protocol.HTTP_1_1)
+                .code(200)
+                .message("OK")
+                .header("Content-Type", "application/json")
+                .body(ResponseBody.create(payload, JSON))
+                .build();
+
+        OkHttpClient.Builder builder = new OkHttpClient.Builder();
+        switch (logging) {
+            case "requestLoggerHeaders":
+                builder.addInterceptor(new RequestLogger(RequestLogger.Level.HEADERS, 1.0, 4096, entry -> {}));
+                break;
+            case "requestLoggerBody":
+                builder.addInterceptor(new RequestLogger(RequestLogger.Level.BODY, 1.0, 4096, entry -> {}));
+                break;
+            case "httpLoggingBody":
+                builder.addInterceptor(new HttpLoggingInterceptor(message -> {})
+                        .setLevel(HttpLoggingInterceptor.Level.BODY));
+                break;
+            default:
+                break;
+        }
+        client = builder.addInterceptor(standIn).build();
+
+        get = new Request.Builder().url("http://localhost/projects/p/events").build();
+        post = new Request.Builder()
+                .url("http://localhost/projects")
+                .post(RequestBody.create(new byte[16 * 1024], JSON))
+                .build();
+    }
+
+    @Benchmark
+    public long getAndRead() throws IOException {
+        try (Response response = client.newCall(get).execute()) {
+            return response.body().bytes().length;
+        }
+    }
+
+    @Benchmark
+    public long postAndRead() throws IOException {
+        try (Response response = client.newCall(post).execute()) {
+            return response.body().bytes().length;
+        }
+    }
+}
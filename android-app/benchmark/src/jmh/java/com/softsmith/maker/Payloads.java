@@ -0,0 +1,74 @@
+package com.softsmith.maker;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+/**
+ * Realistic model payloads, seeded so every run measures the same data
+ */
+final class Payloads {
+
+    private static final String[] STATUSES = {"pending", "running", "paused", "completed", "failed"};
+    private static final String[] LEVELS = {"debug", "info", "info", "info", "warning", "error"};
+    private static final String[] SOURCES = {"orchestrator", "planner", "worker", "reviewer"};
+
+    private Payloads() {}
+
+    static List<Project> projects(int count) {
+        Random random = new Random(42);
+        List<Project> projects = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Project project = new Project();
+            project.setId(uuid(random));
+            project.setName("Project " + i);
+            project.setDescription("Build a service that " + words(random, 12));
+            project.setStatus(STATUSES[random.nextInt(STATUSES.length)]);
+            project.setCreatedAt(timestamp(random));
+            project.setUpdatedAt(timestamp(random));
+            int total = 1 + random.nextInt(60);
+            project.setTotalTasks(total);
+            project.setCompletedTasks(random.nextInt(total + 1));
+            projects.add(project);
+        }
+        return projects;
+    }
+
+    static List<Event> events(int count) {
+        Random random = new Random(7);
+        List<Event> events = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Event event = new Event();
+            event.setId(uuid(random));
+            event.setTimestamp(timestamp(random));
+            event.setLevel(LEVELS[random.nextInt(LEVELS.length)]);
+            event.setMessage("Task " + i + ": " + words(random, 4 + random.nextInt(16)));
+            event.setSource(SOURCES[random.nextInt(SOURCES.length)]);
+            events.add(event);
+        }
+        return events;
+    }
+
+    private static String uuid(Random random) {
+        return new UUID(random.nextLong(), random.nextLong()).toString();
+    }
+
+    private static String timestamp(Random random) {
+        return String.format("2026-%02d-%02dT%02d:%02d:%02d.%06d",
+                1 + random.nextInt(12), 1 + random.nextInt(28), random.nextInt(24),
+                random.nextInt(60), random.nextInt(60), random.nextInt(1_000_000));
+    }
+
+    private static String words(Random random, int count) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            if (i > 0) sb.append(' ');
+            int length = 2 + random.nextInt(8);
+            for (int j = 0; j < length; j++) {
+                sb.append((char) ('a' + random.nextInt(26)));
+            }
+        }
+        return sb.toString();
+    }
+}
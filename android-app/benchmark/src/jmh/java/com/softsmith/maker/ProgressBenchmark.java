@@ -0,0 +1,40 @@
+package com.softsmith.maker;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Project.getProgressPercentage(), called for every subtitle and the
+ * detail header, over a mix of empty, partial and finished projects
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ProgressBenchmark {
+
+    private Project[] projects;
+
+    @Setup
+    public void setUp() {
+        List<Project> list = Payloads.projects(64);
+        list.get(0).setTotalTasks(0);
+        projects = list.toArray(new Project[0]);
+    }
+
+    @Benchmark
+    public int progressPercentage() {
+        int sum = 0;
+        for (Project project : projects) {
+            sum += project.getProgressPercentage();
+        }
+        return sum;
+    }
+}
@@ -1,21 +1,69 @@
 """
 Projects API router - endpoints for managing projects.
 """
-from typing import List, Optional
-from fastapi import APIRouter, Depends, HTTPException, WebSocket, WebSocketDisconnect
+from typing import Any, Dict, List, Optional, Set
+from datetime import datetime, timezone
+from email.utils import format_datetime
+from fastapi import APIRouter, Depends, HTTPException, Request, Response, WebSocket, WebSocketDisconnect
+from fastapi.encoders import jsonable_encoder
 from sqlalchemy.ext.asyncio import AsyncSession
 from pydantic import BaseModel
+from app.core import db as database
 from app.core.db import get_db
 from app.models import Project, ProjectStatus
 from app.services.project_service import ProjectService
 from app.services.progress_service import ProgressService
 from app.services.orchestrator import Orchestrator
 from app.core.logging import get_logger
+import asyncio
+import hashlib
 import json
 
 logger = get_logger(__name__)
 router = APIRouter(prefix="/projects", tags=["projects"])
 
+# How often the WebSocket stream checks for newly logged events
+EVENT_STREAM_POLL_SECONDS = 1.0
+# Events a socket may fall behind its feed before it is dropped
+EVENT_STREAM_BACKLOG = 1000
+# Page size when a reconnecting socket catches up from its cursor
+EVENT_STREAM_CATCH_UP_PAGE = 100
+
+
+def _cached_json(
+    request: Request,
+    payload: Any,
+    last_modified: Optional[datetime] = None,
+    extra_headers: Optional[dict] = None
+) -> Response:
+    """
+    Serialize a GET payload with an ETag so clients can revalidate.
+
+    Returns a bodyless 304 when the client's If-None-Match already holds
+    the current representation. `no-cache` lets clients store the body
+    but forces a revalidation on every request.
+    """
+    body = json.dumps(
+        jsonable_encoder(payload),
+        ensure_ascii=False,
+        separators=(",", ":")
+    ).encode("utf-8")
+    etag = '"' + hashlib.sha1(body).hexdigest() + '"'
+
+    headers = {"ETag": etag, "Cache-Control": "no-cache", **(extra_headers or {})}
+    if last_modified:
+        headers["Last-Modified"] = format_datetime(
+            last_modified.replace(tzinfo=timezone.utc), usegmt=True
+        )
+
+    if_none_match = request.headers.get("if-none-match")
+    if if_none_match:
+        candidates = [tag.strip().removeprefix("W/") for tag in if_none_match.split(",")]
+        if etag in candidates or "*" in candidates:
+            return Response(status_code=304, headers=headers)
+
+    return Response(content=body, media_type="application/json", headers=headers)
+
 
 class ProjectCreate(BaseModel):
     prompt: str
@@ -65,27 +113,42 @@ async def create_project(
 
 @router.get("", response_model=List[ProjectResponse])
 async def list_projects(
+    request: Request,
     user_id: Optional[str] = None,
     status: Optional[ProjectStatus] = None,
     limit: int = 100,
     offset: int = 0,
+    updated_since: Optional[datetime] = None,
+    after_id: Optional[str] = None,
     db: AsyncSession = Depends(get_db)
 ):
-    """List all projects with optional filtering."""
+    """
+    List all projects with optional filtering.
+
+    Pass the updated_at and id of the last synced project as
+    `updated_since`/`after_id` to fetch only projects changed since then.
+    """
     project_service = ProjectService(db)
     projects = await project_service.list_projects(
         user_id=user_id,
         status=status,
         limit=limit,
-        offset=offset
+        offset=offset,
+        updated_since=updated_since,
+        after_id=after_id
     )
 
-    return [ProjectResponse(**p.to_dict()) for p in projects]
+    return _cached_json(
+        request,
+        [ProjectResponse(**p.to_dict()) for p in projects],
+        last_modified=max((p.updated_at for p in projects if p.updated_at), default=None)
+    )
 
 
 @router.get("/{project_id}", response_model=ProjectResponse)
 async def get_project(
     project_id: str,
+    request: Request,
     db: AsyncSession = Depends(get_db)
 ):
     """Get a specific project by ID."""
@@ -95,7 +158,11 @@ async def get_project(
     if not project:
         raise HTTPException(status_code=404, detail="Project not found")
 
-    return ProjectResponse(**project.to_dict())
+    return _cached_json(
+        request,
+        ProjectResponse(**project.to_dict()),
+        last_modified=project.updated_at
+    )
 
 
 @router.patch("/{project_id}", response_model=ProjectResponse)
@@ -136,6 +203,7 @@ async def delete_project(
 @router.get("/{project_id}/stats")
 async def get_project_stats(
     project_id: str,
+    request: Request,
     db: AsyncSession = Depends(get_db)
 ):
     """Get project statistics."""
@@ -145,7 +213,7 @@ async def get_project_stats(
     if not stats:
         raise HTTPException(status_code=404, detail="Project not found")
 
-    return stats
+    return _cached_json(request, stats)
 
 
 @router.post("/{project_id}/pause")
@@ -196,19 +264,54 @@ async def get_project_timeline(
 @router.get("/{project_id}/events")
 async def get_project_events(
     project_id: str,
+    request: Request,
     limit: int = 100,
     offset: int = 0,
+    since: Optional[datetime] = None,
+    after_id: Optional[str] = None,
+    before: Optional[datetime] = None,
+    before_id: Optional[str] = None,
+    include_details: bool = True,
     db: AsyncSession = Depends(get_db)
 ):
-    """Get project events/logs."""
+    """
+    Get project events/logs.
+
+    Pass the timestamp and id of the last seen event as `since`/`after_id`
+    to fetch only newer events (returned oldest first), or of the oldest
+    loaded event as `before`/`before_id` to page back through history.
+
+    Clients on constrained networks can pass `include_details=false` to
+    drop the `details` payloads; the `X-Omitted-Bytes` response header
+    reports roughly how much that saved.
+    """
     progress_service = ProgressService(db)
     events = await progress_service.get_project_events(
         project_id=project_id,
         limit=limit,
-        offset=offset
+        offset=offset,
+        since=since,
+        after_id=after_id,
+        before=before,
+        before_id=before_id
     )
 
-    return [e.to_dict() for e in events]
+    payload = [e.to_dict() for e in events]
+    extra_headers = None
+    if not include_details:
+        omitted = 0
+        for item in payload:
+            details = item.pop("details", None)
+            if details:
+                omitted += len(json.dumps(jsonable_encoder(details), separators=(",", ":")))
+        extra_headers = {"X-Omitted-Bytes": str(omitted)}
+
+    return _cached_json(
+        request,
+        payload,
+        last_modified=max((e.timestamp for e in events), default=None),
+        extra_headers=extra_headers
+    )
 
 
 @router.get("/{project_id}/artifacts")
@@ -224,15 +327,190 @@ async def get_project_artifacts(
     return [a.to_dict() for a in artifacts]
 
 
+class _ProjectEventFeed:
+    """
+    Single poller for one project's new events, fanned out to every
+    WebSocket watching that project so open sockets cost no extra queries.
+
+    The feed starts at the newest event logged when it is created and lives
+    while it has subscribers. If polling fails, every subscriber is closed
+    so its socket ends and the client reconnects from its own cursor.
+    """
+
+    def __init__(self, project_id: str):
+        self.project_id = project_id
+        self.subscribers: Set[asyncio.Queue] = set()
+        self.ready = asyncio.get_running_loop().create_future()
+        self.task = asyncio.create_task(self._poll())
+
+    @classmethod
+    async def subscribe(cls, project_id: str) -> asyncio.Queue:
+        """Queue receiving (timestamp, id, message) for each new event, or None when the feed ends."""
+        feed = _event_feeds.get(project_id)
+        if feed is None:
+            feed = _event_feeds[project_id] = cls(project_id)
+        queue = asyncio.Queue(maxsize=EVENT_STREAM_BACKLOG)
+        feed.subscribers.add(queue)
+        try:
+            await asyncio.shield(feed.ready)
+        except BaseException:
+            cls.unsubscribe(project_id, queue)
+            raise
+        return queue
+
+    @staticmethod
+    def unsubscribe(project_id: str, queue: asyncio.Queue):
+        feed = _event_feeds.get(project_id)
+        if feed is None:
+            return
+        feed.subscribers.discard(queue)
+        if not feed.subscribers:
+            feed.task.cancel()
+            del _event_feeds[project_id]
+
+    async def _poll(self):
+        try:
+            async with database.async_session_maker() as session:
+                newest = await ProgressService(session).get_project_events(
+                    project_id=self.project_id,
+                    limit=1
+                )
+            since = newest[0].timestamp if newest else datetime(1970, 1, 1)
+            after_id = newest[0].id if newest else None
+            self.ready.set_result(None)
+
+            while True:
+                await asyncio.sleep(EVENT_STREAM_POLL_SECONDS)
+
+                async with database.async_session_maker() as session:
+                    events = await ProgressService(session).get_project_events(
+                        project_id=self.project_id,
+                        since=since,
+                        after_id=after_id
+                    )
+
+                for event in events:
+                    self._publish((event.timestamp, event.id, {"type": "event", "event": event.to_dict()}))
+                    since = event.timestamp
+                    after_id = event.id
+        except asyncio.CancelledError:
+            raise
+        except Exception as e:
+            logger.error("Event feed failed", project_id=self.project_id, error=str(e))
+            if not self.ready.done():
+                self.ready.set_exception(e)
+        finally:
+            if _event_feeds.get(self.project_id) is self:
+                del _event_feeds[self.project_id]
+            for queue in list(self.subscribers):
+                _end_queue(queue)
+            self.subscribers.clear()
+
+    def _publish(self, item):
+        for queue in list(self.subscribers):
+            try:
+                queue.put_nowait(item)
+            except asyncio.QueueFull:
+                # Too far behind: drop it, the client resumes from its cursor on reconnect
+                self.subscribers.discard(queue)
+                _end_queue(queue)
+
+
+_event_feeds: Dict[str, _ProjectEventFeed] = {}
+
+
+def _end_queue(queue: asyncio.Queue):
+    """Replace whatever is pending with the end-of-feed marker."""
+    while not queue.empty():
+        queue.get_nowait()
+    queue.put_nowait(None)
+
+
+def _is_after(timestamp: datetime, event_id: str, since: Optional[datetime], after_id: Optional[str]) -> bool:
+    """Whether an event lies strictly after the (since, after_id) cursor."""
+    if since is None or timestamp > since:
+        return True
+    return timestamp == since and after_id is not None and event_id > after_id
+
+
+async def _stream_new_events(
+    websocket: WebSocket,
+    project_id: str,
+    since: Optional[datetime],
+    after_id: Optional[str]
+):
+    """
+    Push events after the client's cursor to the WebSocket, first those
+    already logged, then new ones from the project's feed.
+
+    Without a cursor only events logged from now on are sent.
+    """
+    queue = await _ProjectEventFeed.subscribe(project_id)
+    try:
+        # Subscribed before catching up, so nothing logged meanwhile is missed;
+        # the cursor check below drops what both deliver
+        if since is not None:
+            while True:
+                async with database.async_session_maker() as session:
+                    events = await ProgressService(session).get_project_events(
+                        project_id=project_id,
+                        limit=EVENT_STREAM_CATCH_UP_PAGE,
+                        since=since,
+                        after_id=after_id
+                    )
+                for event in events:
+                    await websocket.send_json({"type": "event", "event": event.to_dict()})
+                    since = event.timestamp
+                    after_id = event.id
+                if len(events) < EVENT_STREAM_CATCH_UP_PAGE:
+                    break
+
+        while True:
+            item = await queue.get()
+            if item is None:
+                return
+            timestamp, event_id, message = item
+            if _is_after(timestamp, event_id, since, after_id):
+                await websocket.send_json(message)
+                since = timestamp
+                after_id = event_id
+    finally:
+        _ProjectEventFeed.unsubscribe(project_id, queue)
+
+
+async def _answer_pings(websocket: WebSocket):
+    """Answer client pings until the client disconnects."""
+    try:
+        while True:
+            data = await websocket.receive_text()
+            if data == "ping":
+                await websocket.send_json({"type": "pong"})
+    except WebSocketDisconnect:
+        pass
+
+
 @router.websocket("/{project_id}/events/ws")
 async def websocket_project_events(
     websocket: WebSocket,
-    project_id: str
+    project_id: str,
+    since: Optional[datetime] = None,
+    after_id: Optional[str] = None
 ):
-    """WebSocket endpoint for real-time project events."""
+    """
+    WebSocket endpoint for real-time project events.
+
+    Pass the timestamp and id of the last event the client holds as
+    `since`/`after_id`; events logged after it, including any logged
+    before the socket connected, are streamed exactly once.
+    """
     await websocket.accept()
     logger.info("WebSocket connected", project_id=project_id)
 
+    if since is not None and since.tzinfo is not None:
+        # Event timestamps are stored as naive UTC
+        since = since.astimezone(timezone.utc).replace(tzinfo=None)
+
+    tasks = set()
     try:
         # Send initial connection message
         await websocket.send_json({
@@ -241,18 +519,24 @@ async def websocket_project_events(
             "message": "WebSocket connected"
         })
 
-        # Keep connection alive and stream events
-        # In production, implement proper event streaming from Redis/DB
-        while True:
-            # Wait for client messages (ping/pong)
-            try:
-                data = await websocket.receive_text()
-                if data == "ping":
-                    await websocket.send_json({"type": "pong"})
-            except WebSocketDisconnect:
-                break
+        # Stream events while serving ping/pong; whichever ends first ends the socket
+        tasks = {
+            asyncio.create_task(_stream_new_events(websocket, project_id, since, after_id)),
+            asyncio.create_task(_answer_pings(websocket))
+        }
+        done, _ = await asyncio.wait(tasks, return_when=asyncio.FIRST_COMPLETED)
+        for task in done:
+            if not task.cancelled() and task.exception():
+                logger.error("WebSocket error", project_id=project_id, error=str(task.exception()))
 
     except Exception as e:
         logger.error("WebSocket error", error=str(e))
     finally:
+        for task in tasks:
+            task.cancel()
+        try:
+            await websocket.close()
+        except Exception:
+            # Already closed by the client
+            pass
         logger.info("WebSocket disconnected", project_id=project_id)
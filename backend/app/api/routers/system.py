@@ -2,6 +2,7 @@
 System verification and health check endpoints.
 """
 from fastapi import APIRouter
+from fastapi.responses import JSONResponse
 from app.core.config import get_config, get_settings
 from app.core.llm_router import get_llm_router
 from app.core.logging import get_logger
@@ -173,7 +174,7 @@ async def verify_system():
 async def readiness_check():
     """
     Kubernetes-style readiness probe.
-    Returns 200 if system is ready to accept requests.
+    Returns 200 if system is ready to accept requests, 503 otherwise.
     """
     try:
         # Check critical components only
@@ -188,7 +189,7 @@ async def readiness_check():
 
     except Exception as e:
         logger.error("Readiness check failed", error=str(e))
-        return {"status": "not ready", "error": str(e)}, 503
+        return JSONResponse(status_code=503, content={"status": "not ready", "error": str(e)})
 
 
 @router.get("/liveness")
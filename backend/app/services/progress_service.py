@@ -3,7 +3,7 @@ Progress service - tracks and reports project progress.
 """
 from typing import List, Optional, Dict, Any
 from datetime import datetime
-from sqlalchemy import select
+from sqlalchemy import select, or_, and_
 from sqlalchemy.ext.asyncio import AsyncSession
 from app.models import Project, Task, Event, EventType, EventLevel, Artifact
 from app.core.logging import get_logger
@@ -55,9 +55,23 @@ class ProgressService:
         limit: int = 100,
         offset: int = 0,
         level: Optional[EventLevel] = None,
-        event_type: Optional[EventType] = None
+        event_type: Optional[EventType] = None,
+        since: Optional[datetime] = None,
+        after_id: Optional[str] = None,
+        before: Optional[datetime] = None,
+        before_id: Optional[str] = None
     ) -> List[Event]:
-        """Get events for a project."""
+        """
+        Get events for a project, newest first.
+
+        When a `since` cursor is given, only events after the cursor are
+        returned, oldest first, so callers can advance the cursor to the
+        last row. `after_id` breaks ties between events sharing the
+        cursor timestamp.
+
+        A `before`/`before_id` cursor pages backwards instead, returning
+        the events just older than the cursor, newest first.
+        """
         query = select(Event).where(Event.project_id == project_id)
 
         if level:
@@ -66,7 +80,27 @@ class ProgressService:
         if event_type:
             query = query.where(Event.type == event_type)
 
-        query = query.order_by(Event.timestamp.desc()).limit(limit).offset(offset)
+        if since:
+            if after_id:
+                query = query.where(or_(
+                    Event.timestamp > since,
+                    and_(Event.timestamp == since, Event.id > after_id)
+                ))
+            else:
+                query = query.where(Event.timestamp > since)
+            query = query.order_by(Event.timestamp.asc(), Event.id.asc())
+        else:
+            if before:
+                if before_id:
+                    query = query.where(or_(
+                        Event.timestamp < before,
+                        and_(Event.timestamp == before, Event.id < before_id)
+                    ))
+                else:
+                    query = query.where(Event.timestamp < before)
+            query = query.order_by(Event.timestamp.desc(), Event.id.desc())
+
+        query = query.limit(limit).offset(offset)
 
         result = await self.db.execute(query)
         return list(result.scalars().all())
@@ -3,7 +3,7 @@ Project service - business logic for managing projects.
 """
 from typing import List, Optional, Dict, Any
 from datetime import datetime
-from sqlalchemy import select
+from sqlalchemy import select, or_, and_
 from sqlalchemy.ext.asyncio import AsyncSession
 from app.models import Project, ProjectStatus, Task, TaskType, TaskStatus, Event, EventType, EventLevel
 from app.core.logging import get_logger
@@ -66,9 +66,18 @@ class ProjectService:
         user_id: Optional[str] = None,
         status: Optional[ProjectStatus] = None,
         limit: int = 100,
-        offset: int = 0
+        offset: int = 0,
+        updated_since: Optional[datetime] = None,
+        after_id: Optional[str] = None
     ) -> List[Project]:
-        """List projects with optional filtering."""
+        """
+        List projects with optional filtering, newest first.
+
+        With an `updated_since` cursor, only projects updated after the
+        cursor are returned, least recently updated first, so sync clients
+        can advance the cursor to the last row. `after_id` breaks ties
+        between projects sharing the cursor timestamp.
+        """
         query = select(Project)
 
         if user_id:
@@ -77,7 +86,19 @@ class ProjectService:
         if status:
             query = query.where(Project.status == status)
 
-        query = query.order_by(Project.created_at.desc()).limit(limit).offset(offset)
+        if updated_since:
+            if after_id:
+                query = query.where(or_(
+                    Project.updated_at > updated_since,
+                    and_(Project.updated_at == updated_since, Project.id > after_id)
+                ))
+            else:
+                query = query.where(Project.updated_at > updated_since)
+            query = query.order_by(Project.updated_at.asc(), Project.id.asc())
+        else:
+            query = query.order_by(Project.created_at.desc())
+
+        query = query.limit(limit).offset(offset)
 
         result = await self.db.execute(query)
         return list(result.scalars().all())